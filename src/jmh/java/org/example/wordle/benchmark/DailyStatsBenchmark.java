@@ -0,0 +1,197 @@
+package org.example.wordle.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.wordle.model.DailyStats;
+import org.example.wordle.model.GameStatsEntity;
+import org.example.wordle.repository.AttemptsCount;
+import org.example.wordle.repository.DailyTotals;
+import org.example.wordle.repository.GameStatsRepository;
+import org.example.wordle.service.DailyPlayedIndex;
+import org.example.wordle.service.DailyStatsAggregate;
+import org.example.wordle.service.StatsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Бенчмарк статистики дня на синтетических данных
+ * Репозиторий подменяется прокси, который отвечает заранее посчитанными значениями
+ * (итоги GROUP BY, распределение, страница рейтинга), поэтому измеряется только работа StatsService,
+ * без базы данных; стоимость самих запросов смотрите в планах SQL
+ *
+ * - getDailyStats: путь через БД - счетчики и страница рейтинга из репозитория
+ * - serializeDailyStats: JSON ответа /api/stats/daily (размер не зависит от числа игроков)
+ * - aggregateDailyStats / aggregatePlayerResult: чтение из DailyStatsAggregate,
+ *   который обновляется по мере записи игр (результат игрока - из DailyPlayedIndex)
+ * - aggregateRecordAndRead: запись новой игры и последующее чтение первой страницы
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class DailyStatsBenchmark {
+
+    private static final LocalDate GAME_DATE = LocalDate.of(2025, 10, 1);
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private StatsService statsService;
+
+    private DailyStatsAggregate aggregate;
+
+    private DailyPlayedIndex played;
+
+    private int nextPlayer;
+
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        List<GameStatsEntity> dayStats = generateRows(rows);
+        List<GameStatsEntity> successful = dayStats.stream().filter(GameStatsEntity::isSuccess).toList();
+        Map<Integer, Long> distribution = successful.stream()
+                .collect(Collectors.groupingBy(GameStatsEntity::getAttempts, Collectors.counting()));
+        List<AttemptsCount> attemptsCounts = distribution.entrySet().stream()
+                .map(entry -> (AttemptsCount) new AttemptsCount() {
+                    @Override
+                    public LocalDate getGameDate() {
+                        return GAME_DATE;
+                    }
+
+                    @Override
+                    public Integer getAttempts() {
+                        return entry.getKey();
+                    }
+
+                    @Override
+                    public Long getPlayers() {
+                        return entry.getValue();
+                    }
+                })
+                .toList();
+        DailyTotals totals = new DailyTotals() {
+            @Override
+            public LocalDate getGameDate() {
+                return GAME_DATE;
+            }
+
+            @Override
+            public Long getTotalPlayers() {
+                return (long) dayStats.size();
+            }
+
+            @Override
+            public Long getSuccessfulPlayers() {
+                return (long) successful.size();
+            }
+
+            @Override
+            public String getTargetWord() {
+                return dayStats.get(0).getTargetWord();
+            }
+        };
+
+        GameStatsRepository repository = (GameStatsRepository) Proxy.newProxyInstance(
+                GameStatsRepository.class.getClassLoader(),
+                new Class<?>[]{GameStatsRepository.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findByGameDateOrderByAttemptsAscGameTimeSecondsAsc":
+                            return dayStats;
+                        case "summarizeDays":
+                            return List.of(totals);
+                        case "countSuccessfulByAttempts":
+                            return attemptsCounts;
+                        case "findTopSuccessful":
+                            return successful.subList(0, Math.min(successful.size(), ((Pageable) args[1]).getPageSize()));
+                        default:
+                            break;
+                    }
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("toString")) {
+                        return "GameStatsRepository(benchmark)";
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        // Статистика дня без агрегата в памяти строится только по репозиторию
+        statsService = new StatsService(repository, null, null, null, 10, 100, new SimpleMeterRegistry());
+
+        aggregate = DailyStatsAggregate.fromEntities(GAME_DATE, dayStats);
+        played = DailyPlayedIndex.fromEntities(GAME_DATE, dayStats);
+        nextPlayer = rows;
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+    }
+
+    @Benchmark
+    public DailyStats getDailyStats() {
+        return statsService.getDailyStats(GAME_DATE);
+    }
+
+    @Benchmark
+    public byte[] serializeDailyStats() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(statsService.getDailyStats(GAME_DATE));
+    }
+
+    @Benchmark
+    public DailyStats aggregateDailyStats() {
+        return aggregate.toDailyStats(10);
+    }
+
+    @Benchmark
+    public DailyStats.PlayerResult aggregatePlayerResult() {
+        String playerId = "player_" + Integer.toHexString(rows / 2);
+        return aggregate.getPlayerResult(playerId, played.getResult(playerId));
+    }
+
+    @Benchmark
+    public DailyStats aggregateRecordAndRead() {
+        int player = nextPlayer++;
+        aggregate.record("player_" + Integer.toHexString(player), 1 + (player % 6), true, 30 + (player % 900),
+                GAME_DATE.atTime(12, 0), "АВТОР");
+        return aggregate.toDailyStats(10);
+    }
+
+    /**
+     * Генерирует строки в том же порядке, что и запрос репозитория (попытки, затем время)
+     */
+    private static List<GameStatsEntity> generateRows(int count) {
+        Random random = new Random(42);
+        List<GameStatsEntity> result = new ArrayList<>(count);
+        LocalDateTime start = GAME_DATE.atStartOfDay();
+        for (int i = 0; i < count; i++) {
+            boolean success = random.nextInt(100) < 85;
+            int attempts = success ? 1 + random.nextInt(6) : 0;
+            result.add(new GameStatsEntity(
+                    (long) i,
+                    GAME_DATE,
+                    attempts,
+                    start.plusSeconds(random.nextInt(86_400)),
+                    30 + random.nextInt(900),
+                    "player_" + Integer.toHexString(i),
+                    success,
+                    "АВТОР"
+            ));
+        }
+        result.sort(Comparator.comparingInt(GameStatsEntity::getAttempts)
+                .thenComparingInt(GameStatsEntity::getGameTimeSeconds));
+        return result;
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.wordle.benchmark;
+
+import org.example.wordle.repository.DictionaryFiles;
+import org.example.wordle.repository.WordIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк времени загрузки словаря при старте
+ *
+ * Режим SingleShotTime с отдельным форком на каждое измерение показывает холодный старт,
+ * включая загрузку классов. Файловый ввод-вывод есть только у mappedIndex - это и есть новый путь.
+ * - inCodeArrays: прежняя схема - литеральный массив в коде (LegacyDictionaries) и множество
+ *   нормализованных строк, как в прежних конструкторах репозиториев
+ * - heapIndex: тот же литеральный массив, упакованный в WordIndex в куче
+ * - mappedIndex: бинарный словарь, отображенный в память без разбора
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+@State(Scope.Benchmark)
+public class DictionaryLoadBenchmark {
+
+    @Param({"words", "extended"})
+    private String dictionary;
+
+    @Benchmark
+    public Set<String> inCodeArrays() {
+        return LegacyDictionaries.load(dictionary);
+    }
+
+    @Benchmark
+    public WordIndex heapIndex() {
+        return WordIndex.of(LegacyDictionaries.list(dictionary));
+    }
+
+    @Benchmark
+    public WordIndex mappedIndex() {
+        return DictionaryFiles.load(dictionary);
+    }
+}
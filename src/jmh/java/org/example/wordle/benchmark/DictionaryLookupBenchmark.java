@@ -0,0 +1,46 @@
+package org.example.wordle.benchmark;
+
+import org.example.wordle.repository.ExtendedWordsRepository;
+import org.example.wordle.repository.WordsRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк поиска слов в словарях с нормализацией Ё/Е
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class DictionaryLookupBenchmark {
+
+    // Смесь регистров, Ё и Е, найденных и отсутствующих слов
+    private static final String[] WORDS = {"АКТЁР", "актер", "КОВЕР", "ковёр", "ЕПАРХ", "вопёж", "ТЕСТА", "ШАЛОМ"};
+
+    private WordsRepository wordsRepository;
+
+    private ExtendedWordsRepository extendedWordsRepository;
+
+    private int index;
+
+    @Setup
+    public void setUp() {
+        wordsRepository = new WordsRepository();
+        extendedWordsRepository = new ExtendedWordsRepository();
+    }
+
+    @Benchmark
+    public boolean isTargetWord() {
+        return wordsRepository.isTargetWord(nextWord());
+    }
+
+    @Benchmark
+    public boolean containsWord() {
+        return extendedWordsRepository.containsWord(nextWord());
+    }
+
+    private String nextWord() {
+        index = (index + 1) & (WORDS.length - 1);
+        return WORDS[index];
+    }
+}
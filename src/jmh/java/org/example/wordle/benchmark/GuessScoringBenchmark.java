@@ -0,0 +1,52 @@
+package org.example.wordle.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.wordle.model.GameMode;
+import org.example.wordle.model.GameState;
+import org.example.wordle.repository.WordsRepository;
+import org.example.wordle.service.GuessScorer;
+import org.example.wordle.service.WordleService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк подсчета результата попытки
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class GuessScoringBenchmark {
+
+    private static final String[] GUESSES = {"ОЛОВО", "АВТОР", "КОТЕЛ", "БАНАН", "ЗЕМЛЯ", "ЛИКЕР", "АКТЕР", "ГОРОД"};
+
+    private static final String TARGET = "АКТЁР";
+
+    private WordleService wordleService;
+
+    private int index;
+
+    @Setup
+    public void setUp() {
+        // Для режима угадывания processGuess не обращается к остальным зависимостям
+        wordleService = new WordleService(new WordsRepository(), null, null, null, null, null, null,
+                new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public int score() {
+        return GuessScorer.score(nextGuess(), TARGET);
+    }
+
+    @Benchmark
+    public void processGuess(Blackhole blackhole) {
+        GameState gameState = new GameState(TARGET, GameMode.GUESS);
+        blackhole.consume(wordleService.processGuess(nextGuess(), gameState));
+    }
+
+    private String nextGuess() {
+        index = (index + 1) & (GUESSES.length - 1);
+        return GUESSES[index];
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.wordle.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Словари в прежнем виде - литералы в коде, как в WordsRepository и ExtendedWordsRepository
+ * до перехода на бинарные файлы (списки скопированы без изменений)
+ *
+ * Каждый словарь в своем классе: класс загружается и проверяется при первом обращении,
+ * как раньше при создании репозитория, а load() повторяет прежний конструктор.
+ */
+final class LegacyDictionaries {
+
+    private LegacyDictionaries() {
+    }
+
+    /**
+     * Построить множество нормализованных слов словаря (words или extended) прежним способом
+     */
+    static Set<String> load(String name) {
+        return "words".equals(name) ? Words.load() : Extended.load();
+    }
+
+    /**
+     * Исходный список словаря прежним способом (для упаковки в WordIndex)
+     */
+    static List<String> list(String name) {
+        return "words".equals(name) ? Words.list() : Extended.list();
+    }
+
+    private static String normalizeWord(String word) {
+        return word.toUpperCase()
+                .replace('Ё', 'Е')
+                .replace('ё', 'Е');
+    }
+
+    private static final class Words {
+
+        static List<String> list() {
+            return Arrays.asList(
+                "АБЗАЦ", "АВТОР", "АГЕНТ", "АДРЕС", "АЗАРТ", "АЗИАТ", "АКТИВ", "АЛМАЗ", "АМПЕР", "АНГАР", "АРБУЗ", "АРЕНА",
+                "АРХИВ", "АТЛАС", "АКТЁР", "АМЁБА", "АФЁРА", "АКЦИЯ", "АЛЛЕЯ", "АРМИЯ",
+                "БАГАЖ", "БАЗАР", "БАЙКА", "БАЛЕТ", "БАНАН", "БАРЖА", "БАСНЯ", "БАТОН", "БЕГУН", "БЕЛКА", "БИЛЕТ", "БУКВА",
+                "БЕРЕГ", "БИЛЕТ", "БИРЖА", "БОКАЛ", "БОМБА", "БРАВО", "БРАГА", "БРАНЬ", "БРАСС", "БРЕМЯ", "БРЕНД", "БРЕШЬ",
+                "ВАГОН", "ВАЗОН", "ВАЛЕТ", "ВАЛЬС", "ВАННА", "ВЕСНА", "ВЕТКА", "ВИДЕО", "ВИЛКА",
+                "ВОЛНА", "ВОРОТ", "ВЫБОР", "ВОПЁЖ", "ВАФЛЯ",
+                "ГАЗОН", "ГАММА", "ГАРАЖ", "ГЕРОЙ", "ГОЛОС", "ГОРКА", "ГРУША", "ГУСАК", "ГЛАЗА", "ГЛЯСЕ", "ГОЛЯК", "ГОРОД",
+                "ДАВКА", "ДЕБЕТ", "ДЕТКА", "ДИВАН", "ДОБРО", "ДОСКА", "ДВОЯК", "ДРОВА", "ДУБЛЬ",
+                "ДОМЕН", "ДРАЙВ",
+                "ЕПАРХ", "ЕРЕСЬ",
+                "ЖАТВА", "ЖИВОТ", "ЖИЛЕТ",
+                "ЗАБОР", "ЗАВОД", "ЗАГАР", "ЗАКАЗ", "ЗАМОК", "ЗАПАД", "ЗЕБРА", "ЗЕМЛЯ", "ЗАЛЁТ", "ЗАВЕЯ", "ЗАРЯД", "ЗАТЕЯ",
+                "ИДЕАЛ", "ИКОНА", "ИСТОК",
+                "КАБАН", "КАЗАК", "КАНАЛ", "КАПЛЯ", "КАРТА", "КАТОК", "КЛАСС", "КНИГА", "КОЛОС", "КОНЕЦ", "КОПИЯ", "КРЕСТ",
+                "КРОВЬ", "КУКЛА", "КОВЁР", "КОЗЁЛ", "КОПЬЁ", "КОТЁЛ", "КУЛЁК", "КУТЁЖ", "КНИГА", "КИСТЬ",
+                "ЛАВКА", "ЛАМПА", "ЛИМОН", "ЛОЖКА", "ЛАРЁК", "ЛИКЁР", "ЛИТЬЁ", "ЛАДЬЯ", "ЛАЗНЯ", "ЛЕПНЯ", "ЛИЛИЯ", "ЛЫЖНЯ",
+                "МАСЛО", "МЕСТО", "МЕТРО", "МАСКА", "МАГИЯ", "МЫСЛЬ",
+                "НАРОД", "НЕФТЬ", "НУЖДА", "НИТКА", "НАУКА",
+                "ОГОНЬ", "ОЗЕРО", "ОБУВЬ",
+                "ПАРТА", "ПЕСОК", "ПТИЦА", "ПОЕЗД", "ПАПКА", "ПОЧТА",
+                "РОЛИК", "РЫБАК", "РУЧЕЙ", "РУЧКА", "РАМКА", "РИФМА",
+                "СЦЕНА", "СТЕПЬ", "САХАР", "СЕДЛО", "САПОГ", "СЮЖЕТ", "СКРИП",
+                "ТАБЛО", "ТАНЕЦ", "ТКАНЬ", "ТЕКСТ",
+                "УСПЕХ",
+                "ФИЛЬМ",
+                "ХАРЕК", "ХИМИЯ",
+                "ЦЕНТР",
+                "ЧАЙКА", "ЧИСЛО",
+                "ЖИЗНЬ", "ИГРОК",
+                "ЖИЗНЬ", "ИГРОК",
+                "ШАПКА", "ШКОЛА", "ШРИФТ",
+                "ЭКРАН"
+            );
+        }
+
+        static Set<String> load() {
+            List<String> fiveLetterWords = list().stream()
+                    .filter(word -> word.length() == 5)
+                    .toList();
+            return fiveLetterWords.stream()
+                    .map(LegacyDictionaries::normalizeWord)
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    private static final class Extended {
+
+        static List<String> list() {
+            return Arrays.asList(
+                "ЕПАРХ", "ШАЛОМ", "СУФЛЕ", "ТУНЕЦ", "МИЛАН", "ТАСКА", "МИКСТ", "АНАПА", "ВОПЕЖ", "ВОПЁЖ", "КАРМА", "КЕГЛЯ",
+                "ПОРНО", "РАПИД", "САМСА", "КАРАТ", "УРОКИ", "ГРУША", "ПАНДА", "ВАНГА", "ГЛЯСЕ", "СКВАД", "ШАШКИ", "ХОМЯК",
+                "ОЛОВО", "РИФМА", "МУЗЛО", "БАНАН", "КУМЫС", "ЛАПТА", "ЛАПТИ", "КОЩЕЙ", "ОСВОД", "ДЯТЕЛ", "ГИЕНА", "ГУСАК",
+                "ВОРОТ", "ЗАВАР", "МАКАН", "ТАПОК", "ЦУКАТ", "ОАЗИС", "ПИЦЦА", "ТЕРКА", "ЛЕТКА", "ПЕГАС", "ШМЕЛЬ", "ЯГОДА",
+                "ОМЛЕТ", "СОЙКА", "ПИНТА", "ЛОТОС", "КЕФИР", "ЛИМФА", "МЯМЛЯ", "БРОШЬ", "МИЛФА", "РТУТЬ", "КОРАН", "АМЕБА",
+                "БРАСС", "ЛЕШКА", "ИЛЬЯС", "ЮРЧИК", "ХИППИ", "ЛЕМУР", "МИНЕТ", "ЗУМЕР", "БУМЕР", "СИФОН", "ГЕЛИЙ", "ПЧЕЛА",
+                "ДЕСНА", "ХАЛВА", "КЛЕМА", "КУЛИЧ", "ОМЕГА", "ПАСИВ", "ЗАЛЕТ", "ТЕЗКА", "ПЕНАЛ", "ПРАНК", "ЛЕПНЯ", "КУЗНЯ",
+                "МЮСЛИ", "БЕРЦЫ", "ТАРАН", "МАНГО", "ЩЕГОЛ", "ГОЙДА", "НАЛИМ", "ИНТИМ", "ТАНГО", "АМПЕР", "КУМАР", "РАМЭН",
+                "КУТЬЯ", "ЩЕНОК", "КОВЕР", "КАВЕР", "БЕТОН", "ЖАРКА", "ФАНТА", "ЖИРАФ", "ЯСЕНЬ", "ДВОЯК", "ПРОМТ"
+            );
+        }
+
+        static Set<String> load() {
+            return list().stream()
+                    .map(LegacyDictionaries::normalizeWord)
+                    .collect(Collectors.toSet());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.wordle.benchmark;
+
+import org.example.wordle.WordleApplication;
+import org.example.wordle.service.PlayerStatsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пересчет player_stats всех игроков: по одному игроку через PlayerStatsService.recalculatePlayerStats
+ * против одного запроса на множествах (recalculateAllPlayerStats, PlayerStatsRepository.RECALCULATE_ALL_SQL)
+ *
+ * Нужен Docker: PostgreSQL запускается в Testcontainers, схема создается миграциями Flyway при старте
+ * контекста приложения (без веб-сервера), game_stats заполняется детерминированным генератором -
+ * GAMES_PER_PLAYER игр на игрока, 85% успешных. Обе операции пересчитывают всех игроков,
+ * поэтому время одной операции сравнимо напрямую. Корректность (совпадение результатов) проверяет
+ * src/jmh/resources/sql/player_stats_recalculation.sql
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@State(Scope.Benchmark)
+public class PlayerStatsRecalculationBenchmark {
+
+    private static final int GAMES_PER_PLAYER = 30;
+
+    @Param({"1000", "10000"})
+    private int players;
+
+    private PostgreSQLContainer<?> postgres;
+
+    private ConfigurableApplicationContext context;
+
+    private PlayerStatsService playerStatsService;
+
+    private List<String> playerIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+
+        Path journal = Files.createTempDirectory("wordle-benchmark").resolve("game-stats.journal");
+        // Аргументы командной строки, а не properties(): они важнее application.properties
+        context = new SpringApplicationBuilder(WordleApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "--spring.datasource.username=" + postgres.getUsername(),
+                        "--spring.datasource.password=" + postgres.getPassword(),
+                        "--stats.recorder.journal-path=" + journal,
+                        // Фоновые задачи приложения не должны попасть в замер
+                        "--dictionary.api.enabled=false",
+                        "--dictionary.prevalidation.initial-delay-ms=86400000",
+                        "--dictionary.prevalidation.retry-interval-ms=86400000",
+                        "--daily-word.calendar.initial-delay-ms=86400000",
+                        "--logging.level.org.example.wordle=WARN");
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        // setseed действует в пределах соединения, поэтому оба запроса выполняются одной командой
+        jdbcTemplate.execute("SELECT setseed(0.42); " +
+                "INSERT INTO game_stats (game_date, attempts, completed_at, game_time_seconds, player_id, " +
+                "success, target_word) " +
+                "SELECT DATE '2025-01-01' + day, " +
+                "CASE WHEN success THEN 1 + floor(random() * 6)::int ELSE 0 END, " +
+                "(DATE '2025-01-01' + day) + make_interval(secs => floor(random() * 86400)), " +
+                "30 + floor(random() * 900)::int, 'player_' || player, success, 'СЛОВО' " +
+                "FROM (SELECT n / " + players + " AS day, n % " + players + " AS player, random() < 0.85 AS success " +
+                "FROM generate_series(0, " + (players * GAMES_PER_PLAYER - 1) + ") AS n) seed");
+        jdbcTemplate.execute("VACUUM ANALYZE game_stats");
+
+        playerIds = jdbcTemplate.queryForList("SELECT DISTINCT player_id FROM game_stats", String.class);
+        playerStatsService = context.getBean(PlayerStatsService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+
+    @Benchmark
+    public int perPlayer() {
+        for (String playerId : playerIds) {
+            playerStatsService.recalculatePlayerStats(playerId);
+        }
+        return playerIds.size();
+    }
+
+    @Benchmark
+    public int setBased() {
+        return playerStatsService.recalculateAllPlayerStats();
+    }
+}
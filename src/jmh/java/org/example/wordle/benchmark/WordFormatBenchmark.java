@@ -0,0 +1,53 @@
+package org.example.wordle.benchmark;
+
+import org.example.wordle.model.RussianAlphabet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Бенчмарк проверки формата слова: регулярное выражение против таблицы букв
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class WordFormatBenchmark {
+
+    private static final String FORMAT_REGEX = "[а-яА-ЯёЁ]{5}";
+
+    private static final Pattern FORMAT_PATTERN = Pattern.compile(FORMAT_REGEX);
+
+    private static final String[] WORDS = {"АВТОР", "ёжики", "HELLO", "12345", "КотЁл", "ПОКЕ", "ЗЕМЛЯ", "слово"};
+
+    private int index;
+
+    /**
+     * Текущий вариант: String.matches компилирует шаблон на каждый вызов
+     */
+    @Benchmark
+    public boolean stringMatches() {
+        return nextWord().matches(FORMAT_REGEX);
+    }
+
+    /**
+     * Заранее скомпилированный шаблон (остается создание Matcher)
+     */
+    @Benchmark
+    public boolean precompiledPattern() {
+        return FORMAT_PATTERN.matcher(nextWord()).matches();
+    }
+
+    /**
+     * Проверка по таблице русских букв с нормализацией в том же проходе
+     */
+    @Benchmark
+    public String alphabetTable() {
+        return RussianAlphabet.normalizeWord(nextWord());
+    }
+
+    private String nextWord() {
+        index = (index + 1) & (WORDS.length - 1);
+        return WORDS[index];
+    }
+}
@@ -0,0 +1,58 @@
+-- Планы горячих запросов статистики на таблице game_stats из 10 млн строк
+--
+-- Запуск (нужна пустая база PostgreSQL 11+, скрипт работает в отдельной схеме wordle_plans):
+--   psql -v ON_ERROR_STOP=1 -d <база> -f src/jmh/resources/sql/game_stats_plans.sql > plans.txt
+--
+-- Схема создается теми же миграциями Flyway, что и в приложении:
+-- сначала планы снимаются на схеме V1 (без индексов), затем после V2 (индексы и уникальность).
+-- Данные: 100 дней по 100 000 игроков, 85% успешных игр, детерминированный генератор.
+
+\set ON_ERROR_STOP on
+\timing on
+
+DROP SCHEMA IF EXISTS wordle_plans CASCADE;
+CREATE SCHEMA wordle_plans;
+SET search_path TO wordle_plans;
+
+\ir ../../../main/resources/db/migration/V1__baseline_schema.sql
+
+SELECT setseed(0.42);
+
+INSERT INTO game_stats (game_date, attempts, completed_at, game_time_seconds, player_id, success, target_word)
+SELECT DATE '2025-01-01' + day,
+       CASE WHEN success THEN 1 + floor(random() * 6)::int ELSE 0 END,
+       (DATE '2025-01-01' + day) + make_interval(secs => floor(random() * 86400)),
+       30 + floor(random() * 900)::int,
+       'player_' || player,
+       success,
+       'СЛОВО'
+FROM (
+    SELECT n / 100000 AS day, n % 100000 AS player, random() < 0.85 AS success
+    FROM generate_series(0, 9999999) AS n
+) seed;
+
+INSERT INTO player_stats (player_id, total_games, total_wins, win_rate, current_streak, max_streak,
+                          average_attempts, last_game_date, created_at, updated_at)
+SELECT player_id, COUNT(*), COUNT(*) FILTER (WHERE success),
+       ROUND(100.0 * COUNT(*) FILTER (WHERE success) / COUNT(*), 2),
+       0, COUNT(*) FILTER (WHERE success) % 50,
+       ROUND(COALESCE(AVG(attempts) FILTER (WHERE success), 0), 2),
+       MAX(game_date), now(), now()
+FROM game_stats
+GROUP BY player_id;
+
+VACUUM ANALYZE game_stats;
+VACUUM ANALYZE player_stats;
+
+\echo '===================== V1: без индексов ====================='
+\ir game_stats_queries.sql
+
+\ir ../../../main/resources/db/migration/V2__game_stats_indexes.sql
+
+VACUUM ANALYZE game_stats;
+VACUUM ANALYZE player_stats;
+
+\echo '===================== V2: индексы и уникальность ====================='
+\ir game_stats_queries.sql
+
+DROP SCHEMA wordle_plans CASCADE;
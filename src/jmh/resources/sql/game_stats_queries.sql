@@ -0,0 +1,66 @@
+-- Горячие запросы GameStatsRepository и PlayerStatsRepository в виде SQL
+-- (подключается из game_stats_plans.sql до и после создания индексов)
+
+\echo '--- summarizeDays (итоги дня)'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT game_date, COUNT(*), SUM(CASE WHEN success THEN 1 ELSE 0 END), MAX(target_word)
+FROM game_stats WHERE game_date >= DATE '2025-03-01' AND game_date <= DATE '2025-03-01'
+GROUP BY game_date;
+
+\echo '--- summarizeDays (30 дней)'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT game_date, COUNT(*), SUM(CASE WHEN success THEN 1 ELSE 0 END), MAX(target_word)
+FROM game_stats WHERE game_date >= DATE '2025-03-01' AND game_date <= DATE '2025-03-30'
+GROUP BY game_date;
+
+\echo '--- countSuccessfulByAttempts (30 дней)'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT game_date, attempts, COUNT(*)
+FROM game_stats WHERE game_date >= DATE '2025-03-01' AND game_date <= DATE '2025-03-30' AND success
+GROUP BY game_date, attempts;
+
+\echo '--- findTopSuccessful (первая страница рейтинга)'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM game_stats WHERE game_date = DATE '2025-03-01' AND success
+ORDER BY attempts, game_time_seconds, completed_at, player_id
+LIMIT 11;
+
+\echo '--- findSuccessfulAfter (страница после курсора)'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM game_stats WHERE game_date = DATE '2025-03-01' AND success
+  AND (attempts, game_time_seconds, completed_at, player_id) > (3, 500, TIMESTAMP '2025-03-01 12:00:00', 'player_50000')
+ORDER BY attempts, game_time_seconds, completed_at, player_id
+LIMIT 11;
+
+\echo '--- countSuccessfulBefore (место игрока)'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM game_stats WHERE game_date = DATE '2025-03-01' AND success
+  AND (attempts, game_time_seconds, completed_at, player_id) < (3, 500, TIMESTAMP '2025-03-01 12:00:00', 'player_50000');
+
+\echo '--- findTopSuccessfulPerDay (топ каждого дня за 30 дней)'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, game_date, attempts, completed_at, game_time_seconds, player_id, success, target_word
+FROM (SELECT g.*, ROW_NUMBER() OVER (PARTITION BY g.game_date
+          ORDER BY g.attempts, g.game_time_seconds, g.completed_at, g.player_id) AS place
+      FROM game_stats g WHERE g.game_date BETWEEN DATE '2025-03-01' AND DATE '2025-03-30' AND g.success) ranked
+WHERE ranked.place <= 11 ORDER BY game_date, place;
+
+\echo '--- findByGameDateAndPlayerId'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM game_stats WHERE game_date = DATE '2025-03-01' AND player_id = 'player_12345';
+
+\echo '--- countByGameDate'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM game_stats WHERE game_date = DATE '2025-03-01';
+
+\echo '--- findByPlayerIdOrderByCompletedAtAsc'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM game_stats WHERE player_id = 'player_12345' ORDER BY completed_at;
+
+\echo '--- countActivePlayers / getAverageWinRate'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*), AVG(win_rate) FROM player_stats WHERE total_games > 0;
+
+\echo '--- getMaxStreakOverall'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT MAX(max_streak) FROM player_stats;
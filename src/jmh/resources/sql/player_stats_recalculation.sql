@@ -0,0 +1,157 @@
+-- Пересчет player_stats: по одному игроку (как PlayerStatsService.recalculatePlayerStats)
+-- против одного запроса на множествах (PlayerStatsRepository.RECALCULATE_ALL_SQL)
+--
+-- Запуск (нужна пустая база PostgreSQL 11+, скрипт работает в отдельной схеме wordle_recalc):
+--   psql -v ON_ERROR_STOP=1 -d <база> -f src/jmh/resources/sql/player_stats_recalculation.sql > recalc.txt
+--
+-- Данные: 100 дней по 30 000 игроков (3 млн строк), 85% успешных игр, детерминированный генератор.
+-- Путь по одному игроку выполнен циклом PL/pgSQL внутри сервера: те же запрос игр игрока по индексу
+-- (player_id, completed_at), свертка и запись, но без 2-3 обращений к БД на игрока, которые делает
+-- приложение, поэтому его время - нижняя оценка для Java-пути. Время самого Java-пути
+-- (PlayerStatsService.recalculatePlayerStats) измеряет PlayerStatsRecalculationBenchmark.
+-- В конце результаты обоих способов сравниваются (ожидается 0 расхождений).
+
+\set ON_ERROR_STOP on
+\timing on
+
+DROP SCHEMA IF EXISTS wordle_recalc CASCADE;
+CREATE SCHEMA wordle_recalc;
+SET search_path TO wordle_recalc;
+
+\ir ../../../main/resources/db/migration/V1__baseline_schema.sql
+\ir ../../../main/resources/db/migration/V2__game_stats_indexes.sql
+\ir ../../../main/resources/db/migration/V3__player_stats_running_sums.sql
+
+SELECT setseed(0.42);
+
+INSERT INTO game_stats (game_date, attempts, completed_at, game_time_seconds, player_id, success, target_word)
+SELECT DATE '2025-01-01' + day,
+       CASE WHEN success THEN 1 + floor(random() * 6)::int ELSE 0 END,
+       (DATE '2025-01-01' + day) + make_interval(secs => floor(random() * 86400)),
+       30 + floor(random() * 900)::int,
+       'player_' || player,
+       success,
+       'СЛОВО'
+FROM (
+    SELECT n / 30000 AS day, n % 30000 AS player, random() < 0.85 AS success
+    FROM generate_series(0, 2999999) AS n
+) seed;
+
+VACUUM ANALYZE game_stats;
+
+\echo '===================== По одному игроку ====================='
+DO $$
+DECLARE
+    player         RECORD;
+    game           RECORD;
+    games          INTEGER;
+    wins           INTEGER;
+    attempts_sum   BIGINT;
+    streak         INTEGER;
+    best_streak    INTEGER;
+    wins_by_try    INTEGER[];
+    last_date      DATE;
+BEGIN
+    FOR player IN SELECT DISTINCT player_id FROM game_stats LOOP
+        games := 0; wins := 0; attempts_sum := 0; streak := 0; best_streak := 0;
+        wins_by_try := ARRAY[0, 0, 0, 0, 0, 0];
+
+        FOR game IN SELECT game_date, attempts, success FROM game_stats
+                    WHERE player_id = player.player_id ORDER BY completed_at, id LOOP
+            games := games + 1;
+            attempts_sum := attempts_sum + game.attempts;
+            IF game.success THEN
+                wins := wins + 1;
+                streak := streak + 1;
+                best_streak := GREATEST(best_streak, streak);
+                IF game.attempts BETWEEN 1 AND 6 THEN
+                    wins_by_try[game.attempts] := wins_by_try[game.attempts] + 1;
+                END IF;
+            ELSE
+                streak := 0;
+            END IF;
+            last_date := game.game_date;
+        END LOOP;
+
+        INSERT INTO player_stats (player_id, total_games, total_wins, win_rate, current_streak, max_streak,
+                                  average_attempts, total_attempts, wins_in_1, wins_in_2, wins_in_3, wins_in_4,
+                                  wins_in_5, wins_in_6, last_game_date, created_at, updated_at)
+        VALUES (player.player_id, games, wins, ROUND(100.0 * wins / games, 2), streak, best_streak,
+                ROUND(attempts_sum::numeric / games, 2), attempts_sum, wins_by_try[1], wins_by_try[2],
+                wins_by_try[3], wins_by_try[4], wins_by_try[5], wins_by_try[6], last_date, now(), now())
+        ON CONFLICT (player_id) DO UPDATE SET
+            total_games = EXCLUDED.total_games, total_wins = EXCLUDED.total_wins, win_rate = EXCLUDED.win_rate,
+            current_streak = EXCLUDED.current_streak, max_streak = EXCLUDED.max_streak,
+            average_attempts = EXCLUDED.average_attempts, total_attempts = EXCLUDED.total_attempts,
+            wins_in_1 = EXCLUDED.wins_in_1, wins_in_2 = EXCLUDED.wins_in_2, wins_in_3 = EXCLUDED.wins_in_3,
+            wins_in_4 = EXCLUDED.wins_in_4, wins_in_5 = EXCLUDED.wins_in_5, wins_in_6 = EXCLUDED.wins_in_6,
+            last_game_date = EXCLUDED.last_game_date, updated_at = EXCLUDED.updated_at;
+    END LOOP;
+END $$;
+
+CREATE TABLE per_player_result AS
+SELECT player_id, total_games, total_wins, win_rate, current_streak, max_streak, average_attempts,
+       total_attempts, wins_in_1, wins_in_2, wins_in_3, wins_in_4, wins_in_5, wins_in_6, last_game_date
+FROM player_stats;
+
+TRUNCATE player_stats;
+
+\echo '===================== Один запрос (RECALCULATE_ALL_SQL) ====================='
+-- Тот же текст, что PlayerStatsRepository.RECALCULATE_ALL_SQL (параметр :now заменен на now())
+WITH numbered AS (
+    SELECT player_id, game_date, attempts, success,
+           ROW_NUMBER() OVER (PARTITION BY player_id ORDER BY completed_at, id) AS rn,
+           ROW_NUMBER() OVER (PARTITION BY player_id ORDER BY completed_at, id) -
+           ROW_NUMBER() OVER (PARTITION BY player_id, success ORDER BY completed_at, id) AS island
+    FROM game_stats
+),
+win_streaks AS (
+    SELECT player_id, MAX(streak) AS max_streak
+    FROM (SELECT player_id, COUNT(*) AS streak FROM numbered WHERE success GROUP BY player_id, island) s
+    GROUP BY player_id
+),
+totals AS (
+    SELECT player_id, COUNT(*) AS total_games, COUNT(*) FILTER (WHERE success) AS total_wins,
+           SUM(attempts) AS total_attempts,
+           COUNT(*) - COALESCE(MAX(rn) FILTER (WHERE NOT success), 0) AS current_streak,
+           COUNT(*) FILTER (WHERE success AND attempts = 1) AS wins_in_1,
+           COUNT(*) FILTER (WHERE success AND attempts = 2) AS wins_in_2,
+           COUNT(*) FILTER (WHERE success AND attempts = 3) AS wins_in_3,
+           COUNT(*) FILTER (WHERE success AND attempts = 4) AS wins_in_4,
+           COUNT(*) FILTER (WHERE success AND attempts = 5) AS wins_in_5,
+           COUNT(*) FILTER (WHERE success AND attempts = 6) AS wins_in_6,
+           MAX(game_date) AS last_game_date
+    FROM numbered GROUP BY player_id
+)
+INSERT INTO player_stats (player_id, total_games, total_wins, win_rate, current_streak, max_streak,
+                          average_attempts, total_attempts, wins_in_1, wins_in_2, wins_in_3, wins_in_4,
+                          wins_in_5, wins_in_6, last_game_date, created_at, updated_at)
+SELECT t.player_id, t.total_games, t.total_wins, ROUND(100.0 * t.total_wins / t.total_games, 2),
+       t.current_streak, COALESCE(w.max_streak, 0), ROUND(t.total_attempts::numeric / t.total_games, 2),
+       t.total_attempts, t.wins_in_1, t.wins_in_2, t.wins_in_3, t.wins_in_4, t.wins_in_5, t.wins_in_6,
+       t.last_game_date, now(), now()
+FROM totals t LEFT JOIN win_streaks w ON w.player_id = t.player_id
+ON CONFLICT (player_id) DO UPDATE SET
+    total_games = EXCLUDED.total_games, total_wins = EXCLUDED.total_wins, win_rate = EXCLUDED.win_rate,
+    current_streak = EXCLUDED.current_streak, max_streak = EXCLUDED.max_streak,
+    average_attempts = EXCLUDED.average_attempts, total_attempts = EXCLUDED.total_attempts,
+    wins_in_1 = EXCLUDED.wins_in_1, wins_in_2 = EXCLUDED.wins_in_2, wins_in_3 = EXCLUDED.wins_in_3,
+    wins_in_4 = EXCLUDED.wins_in_4, wins_in_5 = EXCLUDED.wins_in_5, wins_in_6 = EXCLUDED.wins_in_6,
+    last_game_date = EXCLUDED.last_game_date, updated_at = EXCLUDED.updated_at;
+
+\echo '===================== Расхождения между способами ====================='
+SELECT COUNT(*) AS mismatches FROM (
+    (SELECT player_id, total_games, total_wins, win_rate, current_streak, max_streak, average_attempts,
+            total_attempts, wins_in_1, wins_in_2, wins_in_3, wins_in_4, wins_in_5, wins_in_6, last_game_date
+     FROM player_stats
+     EXCEPT
+     SELECT * FROM per_player_result)
+    UNION ALL
+    (SELECT * FROM per_player_result
+     EXCEPT
+     SELECT player_id, total_games, total_wins, win_rate, current_streak, max_streak, average_attempts,
+            total_attempts, wins_in_1, wins_in_2, wins_in_3, wins_in_4, wins_in_5, wins_in_6, last_game_date
+     FROM player_stats)
+) diff;
+
+DROP SCHEMA wordle_recalc CASCADE;
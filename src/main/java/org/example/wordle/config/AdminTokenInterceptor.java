@@ -0,0 +1,54 @@
+package org.example.wordle.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+
+/**
+ * Проверка токена административных операций (заголовок X-Admin-Token)
+ * Пустой admin.token отключает эти операции: на любой запрос отвечаем 403
+ */
+@Component
+public class AdminTokenInterceptor implements HandlerInterceptor {
+
+    public static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+
+    private final byte[] adminToken;
+    private final ObjectMapper objectMapper;
+
+    public AdminTokenInterceptor(@Value("${admin.token:}") String adminToken, ObjectMapper objectMapper) {
+        this.adminToken = adminToken.getBytes(StandardCharsets.UTF_8);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (isAuthorized(request.getHeader(ADMIN_TOKEN_HEADER))) {
+            return true;
+        }
+
+        response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getWriter(), Map.of("success", false, "message", "Доступ запрещен"));
+        return false;
+    }
+
+    /**
+     * Сравнение за постоянное время, чтобы по времени ответа нельзя было подбирать токен
+     */
+    public boolean isAuthorized(String token) {
+        if (adminToken.length == 0 || token == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(adminToken, token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.wordle.config;
+
+import org.example.wordle.service.CircuitBreaker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Конфигурация выключателя для Яндекс.Словарь API
+ */
+@Configuration
+public class DictionaryApiConfig {
+
+    @Bean
+    public CircuitBreaker dictionaryApiCircuitBreaker(
+            Clock clock,
+            @Value("${dictionary.api.breaker.window-seconds:60}") long windowSeconds,
+            @Value("${dictionary.api.breaker.buckets:10}") int buckets,
+            @Value("${dictionary.api.breaker.failure-rate-percent:50}") int failureRatePercent,
+            @Value("${dictionary.api.breaker.minimum-calls:5}") int minimumCalls,
+            @Value("${dictionary.api.breaker.open-seconds:5}") long openSeconds,
+            @Value("${dictionary.api.breaker.max-open-seconds:300}") long maxOpenSeconds) {
+        return new CircuitBreaker("Яндекс.Словарь API", clock, Duration.ofSeconds(windowSeconds), buckets,
+                failureRatePercent, minimumCalls, Duration.ofSeconds(openSeconds), Duration.ofSeconds(maxOpenSeconds));
+    }
+}
@@ -1,8 +1,10 @@
 package org.example.wordle.config;
 
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import jakarta.annotation.PostConstruct;
+import java.time.Clock;
 import java.time.ZoneId;
 import java.util.TimeZone;
 
@@ -20,4 +22,12 @@ public class TimezoneConfig {
         
         System.out.println("🌍 Установлен часовой пояс: " + ZoneId.systemDefault());
     }
+
+    /**
+     * Общие часы приложения (московское время); в тестах их можно подменить
+     */
+    @Bean
+    public Clock clock() {
+        return Clock.system(ZoneId.of("Europe/Moscow"));
+    }
 }
@@ -0,0 +1,24 @@
+package org.example.wordle.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Конфигурация Spring MVC: токен X-Admin-Token для административных операций
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AdminTokenInterceptor adminTokenInterceptor;
+
+    public WebConfig(AdminTokenInterceptor adminTokenInterceptor) {
+        this.adminTokenInterceptor = adminTokenInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(adminTokenInterceptor)
+                .addPathPatterns("/api/admin/**", "/api/stats/migrate");
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.wordle.controller;
+
+import org.example.wordle.repository.ExtendedWordsRepository;
+import org.example.wordle.service.DictionaryApiService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Административные операции со словарями
+ * Доступны только при заданном admin.token (заголовок X-Admin-Token проверяет AdminTokenInterceptor)
+ */
+@RestController
+@RequestMapping("/api/admin/dictionary")
+public class DictionaryAdminController {
+
+    @Autowired
+    private ExtendedWordsRepository extendedWordsRepository;
+
+    @Autowired
+    private DictionaryApiService dictionaryApiService;
+
+    /**
+     * Перезагружает расширенный словарь из файла dictionary.extended.path без перезапуска приложения
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<Map<String, Object>> reloadExtendedDictionary() {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            int wordCount = extendedWordsRepository.reload();
+            response.put("success", true);
+            response.put("message", "Расширенный словарь перезагружен");
+            response.put("wordCount", wordCount);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            System.err.println("Error reloading extended dictionary: " + e.getMessage());
+            response.put("success", false);
+            response.put("message", "Ошибка перезагрузки словаря: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+
+    /**
+     * Счетчики попаданий и промахов кэша проверок слов
+     */
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Object>> getVerdictCacheStats() {
+        Map<String, Object> response = new HashMap<>(dictionaryApiService.getVerdictCacheStats());
+        response.put("success", true);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.wordle.controller;
+
+import org.example.wordle.service.PlayerStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Административные операции со статистикой
+ * Доступны только при заданном admin.token (заголовок X-Admin-Token проверяет AdminTokenInterceptor)
+ */
+@RestController
+@RequestMapping("/api/admin/stats")
+public class StatsAdminController {
+
+    @Autowired
+    private PlayerStatsService playerStatsService;
+
+    /**
+     * Пересчитывает персональную статистику всех игроков одним запросом в БД
+     */
+    @PostMapping("/recalculate-all")
+    public ResponseEntity<Map<String, Object>> recalculateAllPlayerStats() {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            int players = playerStatsService.recalculateAllPlayerStats();
+            response.put("success", true);
+            response.put("message", "Статистика всех игроков пересчитана");
+            response.put("playerCount", players);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            System.err.println("Error recalculating all player stats: " + e.getMessage());
+            response.put("success", false);
+            response.put("message", "Ошибка пересчета статистики: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
+}
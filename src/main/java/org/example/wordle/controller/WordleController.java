@@ -12,7 +12,9 @@ import org.example.wordle.service.PlayerStatsService;
 import org.example.wordle.service.PlayerStatsMigrationService;
 import org.example.wordle.model.PlayerStatsEntity;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +26,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
 /**
  * Контроллер для игры Wordle
@@ -48,6 +53,12 @@ public class WordleController {
     
     @Autowired
     private PlayerStatsMigrationService playerStatsMigrationService;
+
+    // Пул асинхронной обработки запросов Spring MVC: на нем ход применяется к игре после ответа API,
+    // чтобы пул dictionary-api занимался только ответами Яндекс API
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor requestExecutor;
     
     @Value("${app.domain}")
     private String appDomain;
@@ -152,33 +163,42 @@ public class WordleController {
     
     /**
      * Обработка попытки угадать слово (REST API)
+     * Ответ формируется асинхронно: пока слово проверяется через Яндекс API, поток Tomcat свободен
      */
     @PostMapping("/api/guess")
     @ResponseBody
-    public Map<String, Object> makeGuessApi(@RequestParam String word, @RequestParam(required = false) Integer gameTimeSeconds, HttpSession session, HttpServletRequest request, HttpServletResponse response) {
-        Map<String, Object> responseMap = new HashMap<>();
-        GameState gameState = (GameState) session.getAttribute("gameState");
+    public CompletableFuture<Map<String, Object>> makeGuessApi(@RequestParam String word, @RequestParam(required = false) Integer gameTimeSeconds, HttpSession session, HttpServletRequest request, HttpServletResponse response) {
+        GameState existingState = (GameState) session.getAttribute("gameState");
         
-        if (gameState == null) {
+        if (existingState == null) {
             String playerId = getPlayerIdForSession(request, response, session);
-            gameState = wordleService.createNewGame(session);
-            gameState.setPlayerId(playerId);
-            session.setAttribute("gameState", gameState);
+            existingState = wordleService.createNewGame(session);
+            existingState.setPlayerId(playerId);
+            session.setAttribute("gameState", existingState);
         }
+        GameState gameState = existingState;
         
-        try {
-            System.out.println("Received guess: " + word);
-            System.out.println("Current game state: " + (gameState != null ? gameState.getGameMode() : "null"));
-            
-            // Обновляем время игры, если передано
-            if (gameTimeSeconds != null) {
-                gameState.setGameTimeSeconds(gameTimeSeconds);
-            }
-            
-            if (word.length() != 5) {
-                responseMap.put("success", false);
-                responseMap.put("error", "Слово должно содержать ровно 5 букв");
-            } else if (!wordleService.isValidWord(word, gameState)) {
+        System.out.println("Received guess: " + word);
+        System.out.println("Current game state: " + gameState.getGameMode());
+        
+        // Обновляем время игры, если передано
+        if (gameTimeSeconds != null) {
+            gameState.setGameTimeSeconds(gameTimeSeconds);
+        }
+        
+        if (word.length() != 5) {
+            Map<String, Object> responseMap = new HashMap<>();
+            responseMap.put("success", false);
+            responseMap.put("error", "Слово должно содержать ровно 5 букв");
+            return CompletableFuture.completedFuture(responseMap);
+        }
+        
+        CompletableFuture<Boolean> validation = wordleService.isValidWordAsync(word, gameState);
+        // Ответ из словаря или кэша уже готов - обрабатываем ход сразу на потоке запроса,
+        // иначе после ответа API переходим на пул MVC
+        Function<Boolean, Map<String, Object>> applyGuess = valid -> {
+            Map<String, Object> responseMap = new HashMap<>();
+            if (!valid) {
                 // Логируем попытку пользователя ввести невалидное слово
                 responseMap.put("success", false);
                 responseMap.put("error", "Введено неизвестное слово");
@@ -190,19 +210,23 @@ public class WordleController {
                 responseMap.put("lastGuess", guess);
                 System.out.println("Guess processed successfully");
             }
-        } catch (IllegalStateException e) {
-            System.err.println("IllegalStateException: " + e.getMessage());
-            e.printStackTrace();
-            responseMap.put("success", false);
-            responseMap.put("error", e.getMessage());
-        } catch (Exception e) {
-            System.err.println("Exception in makeGuessApi: " + e.getMessage());
-            e.printStackTrace();
-            responseMap.put("success", false);
-            responseMap.put("error", "Произошла ошибка: " + e.getMessage());
-        }
-        
-        return responseMap;
+            return responseMap;
+        };
+        return (validation.isDone() ? validation.thenApply(applyGuess) : validation.thenApplyAsync(applyGuess, requestExecutor))
+                .exceptionally(error -> {
+                    Throwable e = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    Map<String, Object> responseMap = new HashMap<>();
+                    responseMap.put("success", false);
+                    if (e instanceof IllegalStateException) {
+                        System.err.println("IllegalStateException: " + e.getMessage());
+                        responseMap.put("error", e.getMessage());
+                    } else {
+                        System.err.println("Exception in makeGuessApi: " + e.getMessage());
+                        e.printStackTrace();
+                        responseMap.put("error", "Произошла ошибка: " + e.getMessage());
+                    }
+                    return responseMap;
+                });
     }
 
     /**
@@ -310,13 +334,17 @@ public class WordleController {
     
     /**
      * Получает статистику дня
+     * Рейтинг отдается страницами: limit игроков (0 - размер по умолчанию), следующая страница - по nextCursor
      */
     @GetMapping("/api/stats/daily")
     @ResponseBody
-    public ResponseEntity<DailyStats> getDailyStats() {
+    public ResponseEntity<DailyStats> getDailyStats(@RequestParam(defaultValue = "0") int limit,
+                                                    @RequestParam(required = false) String cursor) {
         try {
-            DailyStats stats = wordleService.getDailyStats();
+            DailyStats stats = wordleService.getDailyStats(limit, cursor);
             return ResponseEntity.ok(stats);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             System.err.println("Error getting daily stats: " + e.getMessage());
             return ResponseEntity.status(500).build();
@@ -340,12 +368,14 @@ public class WordleController {
     
     /**
      * Получает статистику за последние дни
+     * Рейтинг каждого дня ограничен limit игроками (0 - размер по умолчанию)
      */
     @GetMapping("/api/stats/recent")
     @ResponseBody
-    public ResponseEntity<List<DailyStats>> getRecentStats(@RequestParam(defaultValue = "7") int days) {
+    public ResponseEntity<List<DailyStats>> getRecentStats(@RequestParam(defaultValue = "7") int days,
+                                                           @RequestParam(defaultValue = "0") int limit) {
         try {
-            List<DailyStats> stats = wordleService.getRecentStats(days);
+            List<DailyStats> stats = wordleService.getRecentStats(days, limit);
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
             System.err.println("Error getting recent stats: " + e.getMessage());
@@ -360,13 +390,13 @@ public class WordleController {
     @ResponseBody
     public ResponseEntity<Map<String, Object>> getPlayerRank(@RequestParam String playerId) {
         try {
-            DailyStats stats = wordleService.getDailyStatsWithPlayerResult(playerId);
+            DailyStats.PlayerResult playerResult = wordleService.getPlayerDailyResult(playerId);
             Map<String, Object> response = new HashMap<>();
             
-            if (stats.getPlayerResult() != null && stats.getPlayerResult().isSuccess()) {
+            if (playerResult != null && playerResult.isSuccess()) {
                 response.put("success", true);
-                response.put("rank", stats.getPlayerResult().getRank());
-                response.put("attempts", stats.getPlayerResult().getAttempts());
+                response.put("rank", playerResult.getRank());
+                response.put("attempts", playerResult.getAttempts());
             } else {
                 response.put("success", false);
                 response.put("message", "Игрок не угадал слово или не играл сегодня");
@@ -998,6 +1028,7 @@ public class WordleController {
     
     /**
      * Запускает миграцию персональной статистики
+     * Доступна только при заданном admin.token (заголовок X-Admin-Token проверяет AdminTokenInterceptor)
      */
     @PostMapping("/api/stats/migrate")
     @ResponseBody
@@ -1017,6 +1048,12 @@ public class WordleController {
             response.put("message", "Миграция персональной статистики завершена");
             
             return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            // Миграция уже выполняется
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(409).body(response);
         } catch (Exception e) {
             System.err.println("Error migrating player stats: " + e.getMessage());
             Map<String, Object> errorResponse = new HashMap<>();
@@ -49,7 +49,7 @@ public class DailyStats {
     private Map<Integer, Integer> attemptsDistribution;
     
     /**
-     * Топ игроков (лучшие результаты)
+     * Топ игроков (лучшие результаты), не больше запрошенного лимита
      */
     private List<PlayerResult> topPlayers;
     
@@ -58,6 +58,11 @@ public class DailyStats {
      */
     private PlayerResult playerResult;
     
+    /**
+     * Курсор следующей страницы рейтинга (null - страниц больше нет)
+     */
+    private String nextCursor;
+    
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
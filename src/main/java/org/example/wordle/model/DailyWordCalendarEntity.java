@@ -0,0 +1,74 @@
+package org.example.wordle.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Запись календаря слов дня: дата, слово и номер игры
+ * Календарь заполняется заранее, опубликованные записи не меняются
+ */
+@Entity
+@Table(name = "daily_word_calendar")
+public class DailyWordCalendarEntity {
+
+    @Id
+    @Column(name = "game_date")
+    private LocalDate gameDate;
+
+    @Column(name = "word", length = 5, nullable = false)
+    private String word;
+
+    @Column(name = "game_number", nullable = false)
+    private Integer gameNumber;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Конструкторы
+    public DailyWordCalendarEntity() {}
+
+    public DailyWordCalendarEntity(LocalDate gameDate, String word, int gameNumber) {
+        this.gameDate = gameDate;
+        this.word = word;
+        this.gameNumber = gameNumber;
+    }
+
+    // Геттеры и сеттеры
+    public LocalDate getGameDate() {
+        return gameDate;
+    }
+
+    public void setGameDate(LocalDate gameDate) {
+        this.gameDate = gameDate;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public void setWord(String word) {
+        this.word = word;
+    }
+
+    public Integer getGameNumber() {
+        return gameNumber;
+    }
+
+    public void setGameNumber(Integer gameNumber) {
+        this.gameNumber = gameNumber;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
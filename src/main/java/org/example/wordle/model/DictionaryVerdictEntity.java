@@ -0,0 +1,57 @@
+package org.example.wordle.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Сохраненный результат проверки слова через Яндекс.Словарь API
+ * Хранятся и валидные, и невалидные слова, чтобы после перезапуска не обращаться к API повторно
+ */
+@Entity
+@Table(name = "dictionary_verdicts")
+public class DictionaryVerdictEntity {
+
+    @Id
+    @Column(name = "word", length = 5)
+    private String word;
+
+    @Column(name = "valid", nullable = false)
+    private Boolean valid;
+
+    @Column(name = "checked_at", nullable = false)
+    private LocalDateTime checkedAt;
+
+    // Конструкторы
+    public DictionaryVerdictEntity() {}
+
+    public DictionaryVerdictEntity(String word, boolean valid, LocalDateTime checkedAt) {
+        this.word = word;
+        this.valid = valid;
+        this.checkedAt = checkedAt;
+    }
+
+    // Геттеры и сеттеры
+    public String getWord() {
+        return word;
+    }
+
+    public void setWord(String word) {
+        this.word = word;
+    }
+
+    public Boolean getValid() {
+        return valid;
+    }
+
+    public void setValid(Boolean valid) {
+        this.valid = valid;
+    }
+
+    public LocalDateTime getCheckedAt() {
+        return checkedAt;
+    }
+
+    public void setCheckedAt(LocalDateTime checkedAt) {
+        this.checkedAt = checkedAt;
+    }
+}
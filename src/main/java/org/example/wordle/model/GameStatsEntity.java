@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
  * Entity для хранения статистики игр в базе данных
  */
 @Entity
-@Table(name = "game_stats")
+@Table(name = "game_stats",
+       uniqueConstraints = @UniqueConstraint(name = "uq_game_stats_date_player", columnNames = {"game_date", "player_id"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
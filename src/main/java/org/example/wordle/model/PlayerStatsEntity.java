@@ -2,8 +2,11 @@ package org.example.wordle.model;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Entity
 @Table(name = "player_stats")
@@ -31,6 +34,28 @@ public class PlayerStatsEntity {
     @Column(name = "average_attempts", precision = 3, scale = 2, nullable = false)
     private BigDecimal averageAttempts = BigDecimal.ZERO;
     
+    // Накопленные суммы: среднее и распределение обновляются без чтения истории игр
+    @Column(name = "total_attempts", nullable = false)
+    private Long totalAttempts = 0L;
+    
+    @Column(name = "wins_in_1", nullable = false)
+    private Integer winsIn1 = 0;
+    
+    @Column(name = "wins_in_2", nullable = false)
+    private Integer winsIn2 = 0;
+    
+    @Column(name = "wins_in_3", nullable = false)
+    private Integer winsIn3 = 0;
+    
+    @Column(name = "wins_in_4", nullable = false)
+    private Integer winsIn4 = 0;
+    
+    @Column(name = "wins_in_5", nullable = false)
+    private Integer winsIn5 = 0;
+    
+    @Column(name = "wins_in_6", nullable = false)
+    private Integer winsIn6 = 0;
+    
     @Column(name = "last_game_date")
     private LocalDate lastGameDate;
     
@@ -58,6 +83,67 @@ public class PlayerStatsEntity {
         this.playerId = playerId;
     }
     
+    /**
+     * Учесть одну завершенную игру: счетчики, суммы, процент побед и среднее за O(1)
+     * Стрик и дату последней игры ведет сервис
+     */
+    public void addGame(int attempts, boolean won) {
+        totalGames++;
+        totalAttempts += attempts;
+        if (won) {
+            totalWins++;
+            switch (attempts) {
+                case 1 -> winsIn1++;
+                case 2 -> winsIn2++;
+                case 3 -> winsIn3++;
+                case 4 -> winsIn4++;
+                case 5 -> winsIn5++;
+                case 6 -> winsIn6++;
+                default -> { }
+            }
+        }
+        
+        winRate = BigDecimal.valueOf(totalWins)
+                .multiply(BigDecimal.valueOf(100))
+                .divide(BigDecimal.valueOf(totalGames), 2, RoundingMode.HALF_UP);
+        averageAttempts = BigDecimal.valueOf(totalAttempts)
+                .divide(BigDecimal.valueOf(totalGames), 2, RoundingMode.HALF_UP);
+    }
+    
+    /**
+     * Обнулить счетчики и суммы перед полным пересчетом
+     */
+    public void resetTotals() {
+        totalGames = 0;
+        totalWins = 0;
+        totalAttempts = 0L;
+        winsIn1 = 0;
+        winsIn2 = 0;
+        winsIn3 = 0;
+        winsIn4 = 0;
+        winsIn5 = 0;
+        winsIn6 = 0;
+        winRate = BigDecimal.ZERO;
+        averageAttempts = BigDecimal.ZERO;
+        currentStreak = 0;
+        maxStreak = 0;
+        lastGameDate = null;
+    }
+    
+    /**
+     * Распределение побед по числу попыток (1-6)
+     */
+    public Map<Integer, Integer> getWinsDistribution() {
+        Map<Integer, Integer> distribution = new LinkedHashMap<>();
+        distribution.put(1, winsIn1);
+        distribution.put(2, winsIn2);
+        distribution.put(3, winsIn3);
+        distribution.put(4, winsIn4);
+        distribution.put(5, winsIn5);
+        distribution.put(6, winsIn6);
+        return distribution;
+    }
+    
     // Геттеры и сеттеры
     public String getPlayerId() {
         return playerId;
@@ -115,6 +201,62 @@ public class PlayerStatsEntity {
         this.averageAttempts = averageAttempts;
     }
     
+    public Long getTotalAttempts() {
+        return totalAttempts;
+    }
+    
+    public void setTotalAttempts(Long totalAttempts) {
+        this.totalAttempts = totalAttempts;
+    }
+    
+    public Integer getWinsIn1() {
+        return winsIn1;
+    }
+    
+    public void setWinsIn1(Integer winsIn1) {
+        this.winsIn1 = winsIn1;
+    }
+    
+    public Integer getWinsIn2() {
+        return winsIn2;
+    }
+    
+    public void setWinsIn2(Integer winsIn2) {
+        this.winsIn2 = winsIn2;
+    }
+    
+    public Integer getWinsIn3() {
+        return winsIn3;
+    }
+    
+    public void setWinsIn3(Integer winsIn3) {
+        this.winsIn3 = winsIn3;
+    }
+    
+    public Integer getWinsIn4() {
+        return winsIn4;
+    }
+    
+    public void setWinsIn4(Integer winsIn4) {
+        this.winsIn4 = winsIn4;
+    }
+    
+    public Integer getWinsIn5() {
+        return winsIn5;
+    }
+    
+    public void setWinsIn5(Integer winsIn5) {
+        this.winsIn5 = winsIn5;
+    }
+    
+    public Integer getWinsIn6() {
+        return winsIn6;
+    }
+    
+    public void setWinsIn6(Integer winsIn6) {
+        this.winsIn6 = winsIn6;
+    }
+    
     public LocalDate getLastGameDate() {
         return lastGameDate;
     }
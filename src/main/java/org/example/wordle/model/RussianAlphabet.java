@@ -0,0 +1,94 @@
+package org.example.wordle.model;
+
+/**
+ * Таблица кодов русских букв для горячих путей игры
+ *
+ * Каждая буква один раз (при загрузке класса) отображается в небольшой код 0..31,
+ * регистр не учитывается, Ё сворачивается в Е - так же, как в normalizeWord.
+ * Это позволяет сравнивать буквы без создания строк и вызова toUpperCase().
+ */
+public final class RussianAlphabet {
+
+    /**
+     * Длина слова в игре
+     */
+    public static final int WORD_LENGTH = 5;
+
+    /**
+     * Количество различных кодов букв (33 буквы, Ё совпадает с Е)
+     */
+    public static final int LETTER_COUNT = 32;
+
+    /**
+     * Код для символов, не являющихся русскими буквами
+     */
+    public static final int NOT_A_LETTER = -1;
+
+    // Таблица покрывает диапазон от U+0000 до 'ё' (U+0451) включительно
+    private static final byte[] LETTER_CODES = new byte['ё' + 1];
+
+    static {
+        java.util.Arrays.fill(LETTER_CODES, (byte) NOT_A_LETTER);
+        for (char c = 'А'; c <= 'Я'; c++) {
+            LETTER_CODES[c] = (byte) (c - 'А');
+        }
+        for (char c = 'а'; c <= 'я'; c++) {
+            LETTER_CODES[c] = (byte) (c - 'а');
+        }
+        LETTER_CODES['Ё'] = LETTER_CODES['Е'];
+        LETTER_CODES['ё'] = LETTER_CODES['Е'];
+    }
+
+    private RussianAlphabet() {
+    }
+
+    /**
+     * Возвращает код буквы (0..31) или NOT_A_LETTER для прочих символов
+     */
+    public static int letterCode(char c) {
+        return c < LETTER_CODES.length ? LETTER_CODES[c] : NOT_A_LETTER;
+    }
+
+    /**
+     * Возвращает заглавную букву по ее коду (Ё возвращается как Е)
+     */
+    public static char upperLetter(int code) {
+        return (char) ('А' + code);
+    }
+
+    /**
+     * Проверяет формат слова (ровно 5 русских букв) и в том же проходе нормализует его:
+     * заглавные буквы, Ё заменена на Е. Заменяет регулярное выражение [а-яА-ЯёЁ]{5}
+     *
+     * Если слово уже нормализовано, возвращается та же строка без копирования.
+     * Нормализованная форма используется дальше везде, включая запрос к Яндекс.Словарь API.
+     * @return нормализованное слово или null, если формат неверный
+     */
+    public static String normalizeWord(String word) {
+        if (word == null || word.length() != WORD_LENGTH) {
+            return null;
+        }
+
+        boolean alreadyNormalized = true;
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            char c = word.charAt(i);
+            int code = letterCode(c);
+            if (code == NOT_A_LETTER) {
+                return null;
+            }
+            if (c != upperLetter(code)) {
+                alreadyNormalized = false;
+            }
+        }
+
+        if (alreadyNormalized) {
+            return word;
+        }
+
+        char[] normalized = new char[WORD_LENGTH];
+        for (int i = 0; i < WORD_LENGTH; i++) {
+            normalized[i] = upperLetter(letterCode(word.charAt(i)));
+        }
+        return new String(normalized);
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.wordle.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Проекция GROUP BY: количество успешных игр дня с заданным числом попыток
+ */
+public interface AttemptsCount {
+
+    LocalDate getGameDate();
+
+    Integer getAttempts();
+
+    Long getPlayers();
+}
@@ -0,0 +1,17 @@
+package org.example.wordle.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Проекция GROUP BY: итоги одного дня (игроки, успешные игры, слово дня)
+ */
+public interface DailyTotals {
+
+    LocalDate getGameDate();
+
+    Long getTotalPlayers();
+
+    Long getSuccessfulPlayers();
+
+    String getTargetWord();
+}
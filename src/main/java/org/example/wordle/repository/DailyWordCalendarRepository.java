@@ -0,0 +1,35 @@
+package org.example.wordle.repository;
+
+import org.example.wordle.model.DailyWordCalendarEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailyWordCalendarRepository extends JpaRepository<DailyWordCalendarEntity, LocalDate> {
+
+    List<DailyWordCalendarEntity> findByGameDateBetweenOrderByGameDateAsc(LocalDate startDate, LocalDate endDate);
+
+    long countByGameDateBetween(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Добавить слово дня, если для даты его еще нет (опубликованные записи не перезаписываются)
+     * @return 1, если запись добавлена, 0 - если дата уже была в календаре
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO daily_word_calendar (game_date, word, game_number, created_at) " +
+                   "VALUES (:gameDate, :word, :gameNumber, :createdAt) ON CONFLICT (game_date) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("gameDate") LocalDate gameDate,
+                       @Param("word") String word,
+                       @Param("gameNumber") int gameNumber,
+                       @Param("createdAt") LocalDateTime createdAt);
+}
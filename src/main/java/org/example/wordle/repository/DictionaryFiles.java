@@ -0,0 +1,104 @@
+package org.example.wordle.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Загрузка бинарных словарей, собранных DictionaryCompiler (src/tools) на этапе сборки
+ *
+ * Файл открывается через MappedByteBuffer только для чтения: при старте ничего не разбирается,
+ * а несколько JVM на одном хосте используют одни и те же страницы page cache.
+ * Если словарь лежит внутри jar, он один раз извлекается во временный каталог
+ * (имя файла включает размер и время изменения ресурса, поэтому все процессы одной версии
+ * приложения отображают один и тот же файл).
+ */
+public final class DictionaryFiles {
+
+    private static final String RESOURCE_DIRECTORY = "/dictionaries/";
+
+    private static final String EXTENSION = ".dict";
+
+    private DictionaryFiles() {
+    }
+
+    /**
+     * Открыть словарь из classpath по имени (например, "words" для /dictionaries/words.dict)
+     */
+    public static WordIndex load(String name) {
+        String resource = RESOURCE_DIRECTORY + name + EXTENSION;
+        URL url = DictionaryFiles.class.getResource(resource);
+        if (url == null) {
+            throw new IllegalStateException("Бинарный словарь не найден: " + resource
+                    + " (соберите проект через Gradle, задача compileDictionaries)");
+        }
+
+        try {
+            Path path = "file".equals(url.getProtocol()) ? Paths.get(url.toURI()) : extractToTempDirectory(name, url);
+            return map(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось открыть словарь " + resource, e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Некорректный путь к словарю " + resource, e);
+        }
+    }
+
+    /**
+     * Отобразить файл словаря в память только для чтения
+     */
+    public static WordIndex map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return WordIndex.fromBuffer(buffer);
+        }
+    }
+
+    /**
+     * Читает текстовый список слов: пустые строки и комментарии пропускаются, порядок сохраняется
+     */
+    public static List<String> readWordList(Path file) throws IOException {
+        return Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .collect(Collectors.toList());
+    }
+
+    private static Path extractToTempDirectory(String name, URL url) throws IOException {
+        URLConnection connection = url.openConnection();
+        Path directory = Paths.get(System.getProperty("java.io.tmpdir"), "wordle-dictionaries");
+        Files.createDirectories(directory);
+        Path target = directory.resolve(name + "-" + connection.getContentLengthLong() + "-"
+                + connection.getLastModified() + EXTENSION);
+
+        if (Files.exists(target)) {
+            return target;
+        }
+
+        // Пишем во временный файл и атомарно переименовываем, чтобы параллельно стартующие процессы
+        // не увидели недописанный словарь
+        Path temp = Files.createTempFile(directory, name, ".tmp");
+        try (InputStream in = connection.getInputStream()) {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Другой процесс успел извлечь тот же словарь
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return target;
+    }
+}
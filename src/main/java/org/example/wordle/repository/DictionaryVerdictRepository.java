@@ -0,0 +1,9 @@
+package org.example.wordle.repository;
+
+import org.example.wordle.model.DictionaryVerdictEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DictionaryVerdictRepository extends JpaRepository<DictionaryVerdictEntity, String> {
+}
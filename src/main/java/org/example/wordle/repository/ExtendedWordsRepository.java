@@ -1,70 +1,169 @@
 package org.example.wordle.repository;
 
-import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Repository;
 
-import java.util.Arrays;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Репозиторий для расширенного словаря слов
  * Содержит слова, которых может не быть в Яндекс словаре, но которые являются валидными русскими словами
+ *
+ * Текущий словарь хранится как неизменяемый снимок WordIndex в AtomicReference.
+ * Если задан dictionary.extended.path, файл периодически проверяется и при изменении
+ * новый индекс строится в фоне, после чего ссылка атомарно подменяется: проверки слов
+ * идут без блокировок и всегда видят либо старый, либо полностью собранный новый словарь.
  */
 @Repository
 public class ExtendedWordsRepository {
 
-    @Getter
-    private final List<String> extendedWords;
-    private final Set<String> validExtendedWords;
+    private static final String BUNDLED_DICTIONARY = "extended";
+
+    private final AtomicReference<WordIndex> snapshot;
+
+    // Перезагрузки выполняются по одной (проверки слов этот монитор не используют)
+    private final Object reloadLock = new Object();
+
+    /**
+     * Путь к текстовому (одно слово в строке) или бинарному (.dict) словарю на диске.
+     * Пусто - используется только словарь, встроенный в приложение
+     */
+    @Value("${dictionary.extended.path:}")
+    private String dictionaryPath;
+
+    private volatile FileTime loadedModifiedTime;
+
+    // Время изменения файла, который не удалось загрузить (пустой или поврежденный): его не перечитываем,
+    // пока файл не изменится, чтобы не повторять одну и ту же ошибку каждые reload-interval-ms
+    private volatile FileTime rejectedModifiedTime;
 
     public ExtendedWordsRepository() {
-        this.extendedWords = Arrays.asList(
-                "ЕПАРХ", "ШАЛОМ", "СУФЛЕ", "ТУНЕЦ", "МИЛАН", "ТАСКА", "МИКСТ", "АНАПА", "ВОПЕЖ", "ВОПЁЖ", "КАРМА", "КЕГЛЯ",
-                "ПОРНО", "РАПИД", "САМСА", "КАРАТ", "УРОКИ", "ГРУША", "ПАНДА", "ВАНГА", "ГЛЯСЕ", "СКВАД", "ШАШКИ", "ХОМЯК",
-                "ОЛОВО", "РИФМА", "МУЗЛО", "БАНАН", "КУМЫС", "ЛАПТА", "ЛАПТИ", "КОЩЕЙ", "ОСВОД", "ДЯТЕЛ", "ГИЕНА", "ГУСАК",
-                "ВОРОТ", "ЗАВАР", "МАКАН", "ТАПОК", "ЦУКАТ", "ОАЗИС", "ПИЦЦА", "ТЕРКА", "ЛЕТКА", "ПЕГАС", "ШМЕЛЬ", "ЯГОДА",
-                "ОМЛЕТ", "СОЙКА", "ПИНТА", "ЛОТОС", "КЕФИР", "ЛИМФА", "МЯМЛЯ", "БРОШЬ", "МИЛФА", "РТУТЬ", "КОРАН", "АМЕБА",
-                "БРАСС", "ЛЕШКА", "ИЛЬЯС", "ЮРЧИК", "ХИППИ", "ЛЕМУР", "МИНЕТ", "ЗУМЕР", "БУМЕР", "СИФОН", "ГЕЛИЙ", "ПЧЕЛА",
-                "ДЕСНА", "ХАЛВА", "КЛЕМА", "КУЛИЧ", "ОМЕГА", "ПАСИВ", "ЗАЛЕТ", "ТЕЗКА", "ПЕНАЛ", "ПРАНК", "ЛЕПНЯ", "КУЗНЯ",
-                "МЮСЛИ", "БЕРЦЫ", "ТАРАН", "МАНГО", "ЩЕГОЛ", "ГОЙДА", "НАЛИМ", "ИНТИМ", "ТАНГО", "АМПЕР", "КУМАР", "РАМЭН",
-                "КУТЬЯ", "ЩЕНОК", "КОВЕР", "КАВЕР", "БЕТОН", "ЖАРКА", "ФАНТА", "ЖИРАФ", "ЯСЕНЬ", "ДВОЯК", "ПРОМТ"
-        );
-
-        // Создаем Set для быстрой проверки валидности слов (нормализованные)
-        this.validExtendedWords = extendedWords.stream()
-                .map(this::normalizeWord)
-                .collect(Collectors.toSet());
+        // Бинарный словарь собирается из src/main/dictionaries/extended.txt и отображается в память
+        this.snapshot = new AtomicReference<>(DictionaryFiles.load(BUNDLED_DICTIONARY));
     }
 
     /**
-     * Проверить, есть ли слово в расширенном словаре
+     * Текущий снимок индекса слов расширенного словаря
+     */
+    public WordIndex getWordIndex() {
+        return snapshot.get();
+    }
+
+    /**
+     * Проверить, есть ли слово в расширенном словаре (регистр и Ё/Е не учитываются)
      */
     public boolean containsWord(String word) {
-        return word != null && validExtendedWords.contains(normalizeWord(word));
+        return snapshot.get().contains(word);
     }
-    
+
     /**
-     * Нормализует слово, заменяя ё на е для унификации
+     * Проверить уже нормализованное слово (заглавные буквы, Ё заменена на Е)
      */
-    private String normalizeWord(String word) {
-        return word.toUpperCase()
-                .replace('Ё', 'Е')
-                .replace('ё', 'Е');
+    public boolean containsNormalizedWord(String normalizedWord) {
+        return snapshot.get().contains(normalizedWord);
     }
     
     /**
      * Получить все слова из расширенного словаря
      */
     public List<String> getAllWords() {
-        return extendedWords;
+        return snapshot.get().asList();
     }
     
     /**
      * Получить количество слов в расширенном словаре
      */
     public int getWordCount() {
-        return extendedWords.size();
+        return snapshot.get().size();
+    }
+
+    /**
+     * Периодическая проверка файла словаря: перезагрузка только если файл изменился
+     * Отвергнутый файл (пустой, поврежденный) сообщается один раз, рабочим остается прежний словарь
+     */
+    @Scheduled(fixedDelayString = "${dictionary.extended.reload-interval-ms:30000}",
+               initialDelayString = "${dictionary.extended.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        Path path = configuredPath();
+        if (path == null || !Files.isRegularFile(path)) {
+            return;
+        }
+        try {
+            FileTime modifiedTime = Files.getLastModifiedTime(path);
+            if (modifiedTime.equals(loadedModifiedTime) || modifiedTime.equals(rejectedModifiedTime)) {
+                return;
+            }
+            try {
+                reload(path);
+            } catch (RuntimeException e) {
+                rejectedModifiedTime = modifiedTime;
+                System.err.println("❌ Расширенный словарь " + path + " отвергнут, используется прежний (" +
+                        getWordCount() + " слов): " + e.getMessage());
+            }
+        } catch (IOException e) {
+            // Ошибка чтения может быть временной (файл перезаписывается) - повторим при следующей проверке
+            System.err.println("❌ Не удалось перезагрузить расширенный словарь: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Перестроить словарь из файла dictionary.extended.path и атомарно подменить снимок
+     * @return количество слов в новом словаре
+     */
+    public int reload() throws IOException {
+        Path path = configuredPath();
+        if (path == null) {
+            throw new IllegalStateException("Путь к расширенному словарю не задан (dictionary.extended.path)");
+        }
+        return reload(path);
+    }
+
+    /**
+     * Перестроить словарь из указанного файла и атомарно подменить снимок
+     * @return количество слов в новом словаре
+     */
+    public int reload(Path path) throws IOException {
+        synchronized (reloadLock) {
+            FileTime modifiedTime = Files.getLastModifiedTime(path);
+            WordIndex index = buildIndex(path);
+            if (index.size() == 0) {
+                // Пустой файл почти наверняка ошибка при редактировании - оставляем прежний словарь
+                throw new IllegalStateException("Словарь " + path + " не содержит ни одного слова");
+            }
+
+            WordIndex previous = snapshot.getAndSet(index);
+            loadedModifiedTime = modifiedTime;
+            System.out.println("📚 Расширенный словарь перезагружен: " + previous.size() + " → " + index.size() + " слов");
+            return index.size();
+        }
+    }
+
+    private static WordIndex buildIndex(Path path) throws IOException {
+        if (path.getFileName().toString().endsWith(".dict")) {
+            // Файл на диске могут перезаписать, поэтому не отображаем его в память, а читаем целиком
+            return WordIndex.fromBuffer(ByteBuffer.wrap(Files.readAllBytes(path)));
+        }
+        List<String> words = DictionaryFiles.readWordList(path);
+        WordIndex index = WordIndex.of(words);
+        if (index.size() < words.size()) {
+            // WordIndex.of пропускает строки, которые не являются словами из 5 русских букв
+            System.err.println("⚠️ В словаре " + path + " пропущено строк неверного формата: " + (words.size() - index.size()));
+        }
+        return index;
+    }
+
+    private Path configuredPath() {
+        if (dictionaryPath == null || dictionaryPath.isBlank()) {
+            return null;
+        }
+        return Paths.get(dictionaryPath.trim());
     }
 }
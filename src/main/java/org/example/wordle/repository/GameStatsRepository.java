@@ -1,12 +1,14 @@
 package org.example.wordle.repository;
 
 import org.example.wordle.model.GameStatsEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -35,6 +37,70 @@ public interface GameStatsRepository extends JpaRepository<GameStatsEntity, Long
      */
     long countByGameDateAndSuccessTrue(LocalDate gameDate);
     
+    /**
+     * Первая страница рейтинга дня: успешные игры в порядке попыток, времени игры,
+     * времени завершения и идентификатора игрока (размер страницы задает pageable)
+     */
+    @Query("SELECT g FROM GameStatsEntity g WHERE g.gameDate = :date AND g.success = true " +
+           "ORDER BY g.attempts ASC, g.gameTimeSeconds ASC, g.completedAt ASC, g.playerId ASC")
+    List<GameStatsEntity> findTopSuccessful(@Param("date") LocalDate date, Pageable pageable);
+    
+    /**
+     * Следующая страница рейтинга дня: успешные игры строго после ключа курсора (без OFFSET)
+     * Сравнение кортежей PostgreSQL выполняет как диапазон по индексу idx_game_stats_leaderboard
+     */
+    @Query("SELECT g FROM GameStatsEntity g WHERE g.gameDate = :date AND g.success = true " +
+           "AND (g.attempts, g.gameTimeSeconds, g.completedAt, g.playerId) > (:attempts, :seconds, :completedAt, :playerId) " +
+           "ORDER BY g.attempts ASC, g.gameTimeSeconds ASC, g.completedAt ASC, g.playerId ASC")
+    List<GameStatsEntity> findSuccessfulAfter(@Param("date") LocalDate date,
+                                              @Param("attempts") int attempts,
+                                              @Param("seconds") int gameTimeSeconds,
+                                              @Param("completedAt") LocalDateTime completedAt,
+                                              @Param("playerId") String playerId,
+                                              Pageable pageable);
+    
+    /**
+     * Количество успешных игр дня, стоящих в рейтинге выше указанного результата
+     */
+    @Query("SELECT COUNT(g) FROM GameStatsEntity g WHERE g.gameDate = :date AND g.success = true " +
+           "AND (g.attempts, g.gameTimeSeconds, g.completedAt, g.playerId) < (:attempts, :seconds, :completedAt, :playerId)")
+    long countSuccessfulBefore(@Param("date") LocalDate date,
+                               @Param("attempts") int attempts,
+                               @Param("seconds") int gameTimeSeconds,
+                               @Param("completedAt") LocalDateTime completedAt,
+                               @Param("playerId") String playerId);
+    
+    /**
+     * Итоги по дням периода (считаются в БД, дни без игр в результат не попадают)
+     */
+    @Query("SELECT g.gameDate AS gameDate, COUNT(g) AS totalPlayers, " +
+           "SUM(CASE WHEN g.success = true THEN 1L ELSE 0L END) AS successfulPlayers, " +
+           "MAX(g.targetWord) AS targetWord " +
+           "FROM GameStatsEntity g WHERE g.gameDate >= :startDate AND g.gameDate <= :endDate GROUP BY g.gameDate")
+    List<DailyTotals> summarizeDays(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    /**
+     * Распределение успешных игр по дням периода и числу попыток (считается в БД)
+     */
+    @Query("SELECT g.gameDate AS gameDate, g.attempts AS attempts, COUNT(g) AS players FROM GameStatsEntity g " +
+           "WHERE g.gameDate >= :startDate AND g.gameDate <= :endDate AND g.success = true " +
+           "GROUP BY g.gameDate, g.attempts")
+    List<AttemptsCount> countSuccessfulByAttempts(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    /**
+     * Первые limit успешных игр каждого дня периода одним запросом (ROW_NUMBER по дню),
+     * в порядке дня и места в рейтинге
+     */
+    @Query(value = "SELECT id, game_date, attempts, completed_at, game_time_seconds, player_id, success, target_word " +
+                   "FROM (SELECT g.*, ROW_NUMBER() OVER (PARTITION BY g.game_date " +
+                   "ORDER BY g.attempts, g.game_time_seconds, g.completed_at, g.player_id) AS place " +
+                   "FROM game_stats g WHERE g.game_date BETWEEN :startDate AND :endDate AND g.success = true) ranked " +
+                   "WHERE ranked.place <= :limit ORDER BY game_date, place",
+           nativeQuery = true)
+    List<GameStatsEntity> findTopSuccessfulPerDay(@Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate,
+                                                  @Param("limit") int limit);
+    
     /**
      * Найти результат конкретного игрока за определенную дату
      */
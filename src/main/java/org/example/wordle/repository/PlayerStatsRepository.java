@@ -2,10 +2,13 @@ package org.example.wordle.repository;
 
 import org.example.wordle.model.PlayerStatsEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -24,4 +27,115 @@ public interface PlayerStatsRepository extends JpaRepository<PlayerStatsEntity,
     
     @Query("SELECT COUNT(p) FROM PlayerStatsEntity p WHERE p.totalGames > 0 AND p.winRate >= :minWinRate")
     Long countPlayersWithWinRateAbove(@Param("minWinRate") Double minWinRate);
+    
+    /**
+     * Учесть завершенную игру одним запросом: новая запись или арифметика над текущей строкой
+     * Строка блокируется на время UPDATE, поэтому параллельные игры одного игрока не теряются.
+     * В DO UPDATE поля p.* - значения до изменения, EXCLUDED.* - вклад этой игры.
+     * Выполняется только JDBC-пакетом в GameStatsRecorder, в транзакции после LOCK_GAME_INGESTION_SHARED_SQL
+     */
+    String UPSERT_GAME_RESULT_SQL = "INSERT INTO player_stats AS p (player_id, total_games, total_wins, win_rate, current_streak, " +
+            "max_streak, average_attempts, total_attempts, wins_in_1, wins_in_2, wins_in_3, wins_in_4, " +
+            "wins_in_5, wins_in_6, last_game_date, created_at, updated_at) " +
+            "VALUES (:playerId, 1, CASE WHEN :won THEN 1 ELSE 0 END, CASE WHEN :won THEN 100 ELSE 0 END, " +
+            "CASE WHEN :won THEN 1 ELSE 0 END, CASE WHEN :won THEN 1 ELSE 0 END, :attempts, :attempts, " +
+            "CASE WHEN :won AND :attempts = 1 THEN 1 ELSE 0 END, CASE WHEN :won AND :attempts = 2 THEN 1 ELSE 0 END, " +
+            "CASE WHEN :won AND :attempts = 3 THEN 1 ELSE 0 END, CASE WHEN :won AND :attempts = 4 THEN 1 ELSE 0 END, " +
+            "CASE WHEN :won AND :attempts = 5 THEN 1 ELSE 0 END, CASE WHEN :won AND :attempts = 6 THEN 1 ELSE 0 END, " +
+            ":gameDate, :now, :now) " +
+            "ON CONFLICT (player_id) DO UPDATE SET " +
+            "total_games = p.total_games + 1, " +
+            "total_wins = p.total_wins + EXCLUDED.total_wins, " +
+            "win_rate = ROUND(100.0 * (p.total_wins + EXCLUDED.total_wins) / (p.total_games + 1), 2), " +
+            "current_streak = CASE WHEN EXCLUDED.total_wins = 1 THEN p.current_streak + 1 ELSE 0 END, " +
+            "max_streak = GREATEST(p.max_streak, CASE WHEN EXCLUDED.total_wins = 1 THEN p.current_streak + 1 ELSE 0 END), " +
+            "total_attempts = p.total_attempts + EXCLUDED.total_attempts, " +
+            "average_attempts = ROUND((p.total_attempts + EXCLUDED.total_attempts)::numeric / (p.total_games + 1), 2), " +
+            "wins_in_1 = p.wins_in_1 + EXCLUDED.wins_in_1, " +
+            "wins_in_2 = p.wins_in_2 + EXCLUDED.wins_in_2, " +
+            "wins_in_3 = p.wins_in_3 + EXCLUDED.wins_in_3, " +
+            "wins_in_4 = p.wins_in_4 + EXCLUDED.wins_in_4, " +
+            "wins_in_5 = p.wins_in_5 + EXCLUDED.wins_in_5, " +
+            "wins_in_6 = p.wins_in_6 + EXCLUDED.wins_in_6, " +
+            "last_game_date = EXCLUDED.last_game_date, " +
+            "updated_at = EXCLUDED.updated_at";
+    
+    /**
+     * Ключ advisory-блокировки записи игр: пакеты GameStatsRecorder (game_stats и инкрементальный
+     * UPSERT_GAME_RESULT_SQL) берут ее разделяемой, полная перезапись player_stats из game_stats - исключительной.
+     * Иначе игра, записанная после того, как пересчет прочитал игры игрока, была бы затерта его результатом
+     */
+    long GAME_INGESTION_LOCK_KEY = 0x776F72646C65L;
+    
+    String LOCK_GAME_INGESTION_SHARED_SQL = "SELECT pg_advisory_xact_lock_shared(" + GAME_INGESTION_LOCK_KEY + ")";
+    
+    String LOCK_GAME_INGESTION_SQL = "SELECT pg_advisory_xact_lock(" + GAME_INGESTION_LOCK_KEY + ")";
+    
+    /**
+     * Пересчитать статистику всех игроков одним запросом по game_stats
+     * Серии побед - задача gaps-and-islands: разность номера игры среди всех игр игрока и среди игр
+     * с тем же success постоянна внутри серии подряд идущих игр. Текущая серия - игры после последнего
+     * проигрыша. Игроки без игр в game_stats не меняются.
+     * Выполняется после LOCK_GAME_INGESTION_SQL в той же транзакции (PlayerStatsService.recalculateAllPlayerStats).
+     * Тот же расчет для игроков с удаленными повторами игр - миграция V5__rebuild_player_stats_after_dedup.sql
+     */
+    String RECALCULATE_ALL_SQL = "WITH numbered AS (" +
+            "SELECT player_id, game_date, attempts, success, " +
+            "ROW_NUMBER() OVER (PARTITION BY player_id ORDER BY completed_at, id) AS rn, " +
+            "ROW_NUMBER() OVER (PARTITION BY player_id ORDER BY completed_at, id) - " +
+            "ROW_NUMBER() OVER (PARTITION BY player_id, success ORDER BY completed_at, id) AS island " +
+            "FROM game_stats), " +
+            "win_streaks AS (" +
+            "SELECT player_id, MAX(streak) AS max_streak FROM (" +
+            "SELECT player_id, COUNT(*) AS streak FROM numbered WHERE success GROUP BY player_id, island) s " +
+            "GROUP BY player_id), " +
+            "totals AS (" +
+            "SELECT player_id, COUNT(*) AS total_games, COUNT(*) FILTER (WHERE success) AS total_wins, " +
+            "SUM(attempts) AS total_attempts, " +
+            "COUNT(*) - COALESCE(MAX(rn) FILTER (WHERE NOT success), 0) AS current_streak, " +
+            "COUNT(*) FILTER (WHERE success AND attempts = 1) AS wins_in_1, " +
+            "COUNT(*) FILTER (WHERE success AND attempts = 2) AS wins_in_2, " +
+            "COUNT(*) FILTER (WHERE success AND attempts = 3) AS wins_in_3, " +
+            "COUNT(*) FILTER (WHERE success AND attempts = 4) AS wins_in_4, " +
+            "COUNT(*) FILTER (WHERE success AND attempts = 5) AS wins_in_5, " +
+            "COUNT(*) FILTER (WHERE success AND attempts = 6) AS wins_in_6, " +
+            "MAX(game_date) AS last_game_date " +
+            "FROM numbered GROUP BY player_id) " +
+            "INSERT INTO player_stats (player_id, total_games, total_wins, win_rate, current_streak, max_streak, " +
+            "average_attempts, total_attempts, wins_in_1, wins_in_2, wins_in_3, wins_in_4, wins_in_5, wins_in_6, " +
+            "last_game_date, created_at, updated_at) " +
+            "SELECT t.player_id, t.total_games, t.total_wins, ROUND(100.0 * t.total_wins / t.total_games, 2), " +
+            "t.current_streak, COALESCE(w.max_streak, 0), ROUND(t.total_attempts::numeric / t.total_games, 2), " +
+            "t.total_attempts, t.wins_in_1, t.wins_in_2, t.wins_in_3, t.wins_in_4, t.wins_in_5, t.wins_in_6, " +
+            "t.last_game_date, :now, :now " +
+            "FROM totals t LEFT JOIN win_streaks w ON w.player_id = t.player_id " +
+            "ON CONFLICT (player_id) DO UPDATE SET " +
+            "total_games = EXCLUDED.total_games, total_wins = EXCLUDED.total_wins, win_rate = EXCLUDED.win_rate, " +
+            "current_streak = EXCLUDED.current_streak, max_streak = EXCLUDED.max_streak, " +
+            "average_attempts = EXCLUDED.average_attempts, total_attempts = EXCLUDED.total_attempts, " +
+            "wins_in_1 = EXCLUDED.wins_in_1, wins_in_2 = EXCLUDED.wins_in_2, wins_in_3 = EXCLUDED.wins_in_3, " +
+            "wins_in_4 = EXCLUDED.wins_in_4, wins_in_5 = EXCLUDED.wins_in_5, wins_in_6 = EXCLUDED.wins_in_6, " +
+            "last_game_date = EXCLUDED.last_game_date, updated_at = EXCLUDED.updated_at";
+    
+    /**
+     * Пересчитать статистику всех игроков (см. RECALCULATE_ALL_SQL)
+     * @return количество записанных строк player_stats
+     */
+    @Modifying
+    @Transactional
+    @Query(value = RECALCULATE_ALL_SQL, nativeQuery = true)
+    int recalculateAll(@Param("now") LocalDateTime now);
+    
+    /**
+     * Создать пустую статистику игрока, если ее еще нет (без ошибки при параллельном создании)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO player_stats (player_id, total_games, total_wins, win_rate, current_streak, max_streak, " +
+                   "average_attempts, total_attempts, wins_in_1, wins_in_2, wins_in_3, wins_in_4, wins_in_5, wins_in_6, " +
+                   "created_at, updated_at) " +
+                   "VALUES (:playerId, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, :now, :now) " +
+                   "ON CONFLICT (player_id) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("playerId") String playerId, @Param("now") LocalDateTime now);
 }
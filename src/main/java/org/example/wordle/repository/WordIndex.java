@@ -0,0 +1,250 @@
+package org.example.wordle.repository;
+
+import org.example.wordle.model.RussianAlphabet;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Неизменяемый компактный индекс 5-буквенных слов
+ *
+ * Каждое слово упаковывается в один long: 5 букв по 6 бит, первая буква в старших разрядах,
+ * поэтому порядок чисел совпадает с алфавитным порядком слов.
+ * - entries: слова в исходном порядке, Ё хранится отдельным кодом, чтобы выбранное слово
+ *   отображалось так же, как в списке (порядок и дубликаты важны для выбора слова дня)
+ * - sortedKeys: отсортированные уникальные нормализованные ключи (Ё = Е) для бинарного поиска
+ *
+ * Данные хранятся в LongBuffer: это может быть массив в куче или отображенный в память
+ * бинарный файл словаря (см. writeTo/fromBuffer и DictionaryFiles).
+ * Формат файла: MAGIC, VERSION, число entries, число ключей (int), затем entries и ключи (long).
+ */
+public final class WordIndex {
+
+    /**
+     * Значение, которое возвращает packKey для слова неверного формата
+     */
+    public static final long INVALID_KEY = -1L;
+
+    private static final int MAGIC = 0x57524458; // "WRDX"
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 4 * Integer.BYTES;
+
+    private static final int BITS_PER_LETTER = 6;
+
+    private static final long LETTER_MASK = (1L << BITS_PER_LETTER) - 1;
+
+    // Код для хранения Ё в entries (нормализованные коды занимают 0..31)
+    private static final int YO_CODE = RussianAlphabet.LETTER_COUNT;
+
+    private final LongBuffer entries;
+
+    private final LongBuffer sortedKeys;
+
+    private final List<String> view = new WordListView();
+
+    private WordIndex(LongBuffer entries, LongBuffer sortedKeys) {
+        this.entries = entries;
+        this.sortedKeys = sortedKeys;
+    }
+
+    /**
+     * Строит индекс из списка слов, слова неверного формата пропускаются
+     */
+    public static WordIndex of(List<String> words) {
+        long[] entries = new long[words.size()];
+        int count = 0;
+        for (String word : words) {
+            long entry = packEntry(word);
+            if (entry != INVALID_KEY) {
+                entries[count++] = entry;
+            }
+        }
+        entries = Arrays.copyOf(entries, count);
+
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = toKey(entries[i]);
+        }
+        Arrays.sort(keys);
+
+        // Убираем дубликаты (в том числе пары вида ВОПЕЖ/ВОПЁЖ)
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || keys[i] != keys[distinct - 1]) {
+                keys[distinct++] = keys[i];
+            }
+        }
+
+        return new WordIndex(LongBuffer.wrap(entries), LongBuffer.wrap(Arrays.copyOf(keys, distinct)));
+    }
+
+    /**
+     * Открывает индекс поверх бинарного словаря без копирования и разбора
+     * (буфер обычно является MappedByteBuffer)
+     */
+    public static WordIndex fromBuffer(ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Неверный формат бинарного словаря");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Неподдерживаемая версия бинарного словаря: " + buffer.getInt(4));
+        }
+        int entryCount = buffer.getInt(8);
+        int keyCount = buffer.getInt(12);
+        int keysOffset = HEADER_BYTES + entryCount * Long.BYTES;
+        if (buffer.capacity() != keysOffset + keyCount * Long.BYTES) {
+            throw new IllegalArgumentException("Бинарный словарь поврежден: неверный размер");
+        }
+
+        LongBuffer entries = buffer.slice(HEADER_BYTES, entryCount * Long.BYTES).asLongBuffer();
+        LongBuffer sortedKeys = buffer.slice(keysOffset, keyCount * Long.BYTES).asLongBuffer();
+        return new WordIndex(entries, sortedKeys);
+    }
+
+    /**
+     * Записывает индекс в бинарном формате (используется при сборке словарей)
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(entries.limit());
+        out.writeInt(sortedKeys.limit());
+        for (int i = 0; i < entries.limit(); i++) {
+            out.writeLong(entries.get(i));
+        }
+        for (int i = 0; i < sortedKeys.limit(); i++) {
+            out.writeLong(sortedKeys.get(i));
+        }
+        out.flush();
+    }
+
+    /**
+     * Упаковывает слово в нормализованный ключ (регистр и Ё/Е не учитываются)
+     * @return ключ или INVALID_KEY, если слово не состоит ровно из 5 русских букв
+     */
+    public static long packKey(CharSequence word) {
+        if (word == null || word.length() != RussianAlphabet.WORD_LENGTH) {
+            return INVALID_KEY;
+        }
+        long key = 0;
+        for (int i = 0; i < RussianAlphabet.WORD_LENGTH; i++) {
+            int code = RussianAlphabet.letterCode(word.charAt(i));
+            if (code == RussianAlphabet.NOT_A_LETTER) {
+                return INVALID_KEY;
+            }
+            key = (key << BITS_PER_LETTER) | code;
+        }
+        return key;
+    }
+
+    /**
+     * Проверить, есть ли слово в индексе (регистр и Ё/Е не учитываются)
+     */
+    public boolean contains(CharSequence word) {
+        long key = packKey(word);
+        return key != INVALID_KEY && containsKey(key);
+    }
+
+    /**
+     * Получить слово по позиции в исходном списке
+     */
+    public String wordAt(int index) {
+        long entry = entries.get(index);
+        char[] letters = new char[RussianAlphabet.WORD_LENGTH];
+        for (int i = RussianAlphabet.WORD_LENGTH - 1; i >= 0; i--) {
+            int code = (int) (entry & LETTER_MASK);
+            letters[i] = code == YO_CODE ? 'Ё' : RussianAlphabet.upperLetter(code);
+            entry >>>= BITS_PER_LETTER;
+        }
+        return new String(letters);
+    }
+
+    /**
+     * Количество слов в исходном порядке (с учетом повторов)
+     */
+    public int size() {
+        return entries.limit();
+    }
+
+    /**
+     * Количество различных нормализованных слов
+     */
+    public int distinctCount() {
+        return sortedKeys.limit();
+    }
+
+    /**
+     * Неизменяемое представление индекса в виде списка слов (без копирования)
+     */
+    public List<String> asList() {
+        return view;
+    }
+
+    /**
+     * Бинарный поиск по абсолютным индексам буфера (не меняет его позицию, безопасен для потоков)
+     */
+    private boolean containsKey(long key) {
+        int low = 0;
+        int high = sortedKeys.limit() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midKey = sortedKeys.get(mid);
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long packEntry(String word) {
+        if (word == null || word.length() != RussianAlphabet.WORD_LENGTH) {
+            return INVALID_KEY;
+        }
+        long entry = 0;
+        for (int i = 0; i < RussianAlphabet.WORD_LENGTH; i++) {
+            char c = word.charAt(i);
+            int code = c == 'Ё' || c == 'ё' ? YO_CODE : RussianAlphabet.letterCode(c);
+            if (code == RussianAlphabet.NOT_A_LETTER) {
+                return INVALID_KEY;
+            }
+            entry = (entry << BITS_PER_LETTER) | code;
+        }
+        return entry;
+    }
+
+    private static long toKey(long entry) {
+        long key = 0;
+        for (int shift = BITS_PER_LETTER * (RussianAlphabet.WORD_LENGTH - 1); shift >= 0; shift -= BITS_PER_LETTER) {
+            int code = (int) ((entry >>> shift) & LETTER_MASK);
+            key = (key << BITS_PER_LETTER) | (code == YO_CODE ? RussianAlphabet.letterCode('Е') : code);
+        }
+        return key;
+    }
+
+    private final class WordListView extends AbstractList<String> implements RandomAccess {
+
+        @Override
+        public String get(int index) {
+            return wordAt(index);
+        }
+
+        @Override
+        public int size() {
+            return entries.limit();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package org.example.wordle.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Неблокирующий автоматический выключатель для внешнего API
+ *
+ * - CLOSED: вызовы разрешены, успехи и ошибки считаются в скользящем окне из корзин по времени;
+ *   при доле ошибок не ниже порога (и минимальном числе вызовов) выключатель размыкается
+ * - OPEN: вызовы отклоняются до истечения паузы; проверка стоит одного чтения AtomicReference
+ * - HALF_OPEN: после паузы ровно один пробный вызов (победитель CAS); успех замыкает выключатель,
+ *   ошибка снова размыкает его с удвоенной паузой (не больше максимальной)
+ *
+ * Время берется из переданного Clock, поэтому поведение воспроизводимо в тестах.
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /**
+     * Неизменяемое состояние выключателя, заменяется целиком через CAS
+     * untilMillis - конец паузы (OPEN) или срок пробного вызова (HALF_OPEN)
+     * openCount - сколько раз подряд выключатель размыкался без успешного восстановления
+     */
+    private static final class Phase {
+        final State state;
+        final long untilMillis;
+        final int openCount;
+
+        Phase(State state, long untilMillis, int openCount) {
+            this.state = state;
+            this.untilMillis = untilMillis;
+            this.openCount = openCount;
+        }
+    }
+
+    private static final Phase CLOSED = new Phase(State.CLOSED, 0, 0);
+
+    private final String name;
+    private final Clock clock;
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final int failureRatePercent;
+    private final int minimumCalls;
+    private final long baseOpenMillis;
+    private final long maxOpenMillis;
+
+    private final AtomicReference<Phase> phase = new AtomicReference<>(CLOSED);
+
+    // Скользящее окно: корзина i хранит номер интервала времени и счетчики за этот интервал
+    private final AtomicLongArray bucketEpochs;
+    private final AtomicLongArray bucketSuccesses;
+    private final AtomicLongArray bucketFailures;
+
+    private final Map<State, LongAdder> permittedCalls = new EnumMap<>(State.class);
+    private final Map<State, LongAdder> rejectedCalls = new EnumMap<>(State.class);
+    private final Map<State, LongAdder> transitions = new EnumMap<>(State.class);
+
+    /**
+     * @param window длительность скользящего окна
+     * @param bucketCount число корзин в окне
+     * @param failureRatePercent доля ошибок в окне (в процентах), при которой выключатель размыкается
+     * @param minimumCalls минимальное число вызовов в окне для оценки доли ошибок
+     * @param baseOpenDuration пауза после первого размыкания
+     * @param maxOpenDuration предел паузы при повторных размыканиях
+     */
+    public CircuitBreaker(String name, Clock clock, Duration window, int bucketCount, int failureRatePercent,
+                          int minimumCalls, Duration baseOpenDuration, Duration maxOpenDuration) {
+        if (bucketCount <= 0 || window.toMillis() < bucketCount) {
+            throw new IllegalArgumentException("Некорректное окно выключателя: " + window + " / " + bucketCount);
+        }
+        this.name = name;
+        this.clock = clock;
+        this.bucketMillis = window.toMillis() / bucketCount;
+        this.bucketCount = bucketCount;
+        this.failureRatePercent = failureRatePercent;
+        this.minimumCalls = minimumCalls;
+        this.baseOpenMillis = baseOpenDuration.toMillis();
+        this.maxOpenMillis = maxOpenDuration.toMillis();
+        this.bucketEpochs = new AtomicLongArray(bucketCount);
+        this.bucketSuccesses = new AtomicLongArray(bucketCount);
+        this.bucketFailures = new AtomicLongArray(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            bucketEpochs.set(i, -1);
+        }
+        for (State state : State.values()) {
+            permittedCalls.put(state, new LongAdder());
+            rejectedCalls.put(state, new LongAdder());
+            transitions.put(state, new LongAdder());
+        }
+    }
+
+    /**
+     * Можно ли выполнить вызов сейчас
+     * Если разрешение получено, результат вызова нужно сообщить через recordSuccess/recordFailure
+     */
+    public boolean tryAcquirePermission() {
+        Phase current = phase.get();
+        if (current.state == State.CLOSED) {
+            permittedCalls.get(State.CLOSED).increment();
+            return true;
+        }
+
+        long now = clock.millis();
+        if (now < current.untilMillis) {
+            rejectedCalls.get(current.state).increment();
+            return false;
+        }
+
+        // Пауза истекла (или пробный вызов не ответил в срок): один поток становится пробным вызовом
+        Phase trial = new Phase(State.HALF_OPEN, now + baseOpenMillis, current.openCount);
+        if (phase.compareAndSet(current, trial)) {
+            transitions.get(State.HALF_OPEN).increment();
+            permittedCalls.get(State.HALF_OPEN).increment();
+            return true;
+        }
+        rejectedCalls.get(current.state).increment();
+        return false;
+    }
+
+    /**
+     * Вызов завершился успешно
+     */
+    public void recordSuccess() {
+        record(bucketSuccesses, clock.millis());
+
+        Phase current = phase.get();
+        if (current.state == State.HALF_OPEN && phase.compareAndSet(current, CLOSED)) {
+            // После восстановления старые ошибки в окне не должны сразу разомкнуть выключатель снова
+            clearWindow();
+            transitions.get(State.CLOSED).increment();
+        }
+    }
+
+    /**
+     * Вызов завершился ошибкой (таймаут, сетевая ошибка, неверный ответ)
+     */
+    public void recordFailure() {
+        long now = clock.millis();
+        record(bucketFailures, now);
+
+        Phase current = phase.get();
+        if (current.state == State.HALF_OPEN) {
+            open(current, current.openCount + 1, now);
+        } else if (current.state == State.CLOSED && isFailureRateExceeded(now)) {
+            open(current, 0, now);
+        }
+    }
+
+    public State getState() {
+        return phase.get().state;
+    }
+
+    /**
+     * Сколько миллисекунд осталось до пробного вызова (0, если выключатель не разомкнут)
+     */
+    public long getRemainingOpenMillis() {
+        Phase current = phase.get();
+        return current.state == State.OPEN ? Math.max(0, current.untilMillis - clock.millis()) : 0;
+    }
+
+    /**
+     * Метрики по состояниям: разрешенные и отклоненные вызовы, переходы, доля ошибок в окне
+     */
+    public Map<String, Object> getMetrics() {
+        long now = clock.millis();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("name", name);
+        metrics.put("state", getState().name());
+        metrics.put("remainingOpenMillis", getRemainingOpenMillis());
+        metrics.put("windowCalls", windowSum(bucketSuccesses, now) + windowSum(bucketFailures, now));
+        metrics.put("windowFailures", windowSum(bucketFailures, now));
+        for (State state : State.values()) {
+            String suffix = state.name().toLowerCase();
+            metrics.put("permitted." + suffix, permittedCalls.get(state).sum());
+            metrics.put("rejected." + suffix, rejectedCalls.get(state).sum());
+            metrics.put("transitions." + suffix, transitions.get(state).sum());
+        }
+        return metrics;
+    }
+
+    private void open(Phase current, int openCount, long now) {
+        // Экспоненциальная пауза: base * 2^openCount, но не больше максимальной
+        long pause = openCount >= 30 ? maxOpenMillis : Math.min(maxOpenMillis, baseOpenMillis << openCount);
+        if (phase.compareAndSet(current, new Phase(State.OPEN, now + pause, openCount))) {
+            transitions.get(State.OPEN).increment();
+            System.out.println("⚡ " + name + ": выключатель разомкнут на " + pause + " мс");
+        }
+    }
+
+    private boolean isFailureRateExceeded(long now) {
+        long failures = windowSum(bucketFailures, now);
+        long calls = failures + windowSum(bucketSuccesses, now);
+        return calls >= minimumCalls && failures * 100 >= calls * failureRatePercent;
+    }
+
+    /**
+     * Увеличивает счетчик текущей корзины; устаревшая корзина сначала обнуляется
+     * (приращение, попавшее между сменой интервала и обнулением, может потеряться - окно приблизительное)
+     */
+    private void record(AtomicLongArray counters, long now) {
+        long epoch = now / bucketMillis;
+        int index = (int) (epoch % bucketCount);
+        long seen = bucketEpochs.get(index);
+        if (seen != epoch && bucketEpochs.compareAndSet(index, seen, epoch)) {
+            bucketSuccesses.set(index, 0);
+            bucketFailures.set(index, 0);
+        }
+        counters.incrementAndGet(index);
+    }
+
+    private long windowSum(AtomicLongArray counters, long now) {
+        long oldestEpoch = now / bucketMillis - bucketCount + 1;
+        long sum = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            if (bucketEpochs.get(i) >= oldestEpoch) {
+                sum += counters.get(i);
+            }
+        }
+        return sum;
+    }
+
+    private void clearWindow() {
+        for (int i = 0; i < bucketCount; i++) {
+            bucketEpochs.set(i, -1);
+        }
+    }
+}
@@ -1,19 +1,31 @@
 package org.example.wordle.service;
 
+import org.example.wordle.model.GameStats;
 import org.example.wordle.model.GameStatsEntity;
 import org.example.wordle.repository.GameStatsRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
+
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Сервис для валидации игр в режиме дня
  * Обеспечивает, что каждый игрок может играть только один раз в день
+ *
+ * Сыгравшие за день игроки хранятся в памяти (DailyPlayedIndex): индекс сегодняшнего дня загружается
+ * при старте (после того как GameStatsRecorder допишет журнал), пополняется в markPlayed
+ * и заменяется при смене дня, поэтому проверки не обращаются к БД. Это единственная карта игроков дня:
+ * по ней же StatsService считает место игрока в рейтинге
  */
 @Service
-public class DailyGameValidationService {
+@DependsOn("gameStatsRecorder")
+public class DailyGameValidationService implements DailyRolloverParticipant {
     
     @Autowired
     private GameStatsRepository gameStatsRepository;
@@ -21,6 +33,46 @@ public class DailyGameValidationService {
     @Autowired
     private LocalTimeService localTimeService;
     
+    private final ConcurrentMap<LocalDate, DailyPlayedIndex> playedByDate = new ConcurrentHashMap<>();
+    
+    /**
+     * Загрузка сыгравших сегодня игроков при старте
+     */
+    @PostConstruct
+    public void loadTodayIndex() {
+        LocalDate today = localTimeService.getCurrentMoscowDate();
+        try {
+            DailyPlayedIndex index = loadIndex(today);
+            playedByDate.put(today, index);
+            System.out.println("📋 Сыгравшие " + today + " игроки загружены в память: " + index.size());
+        } catch (Exception e) {
+            // Индекс будет загружен при первой проверке
+            System.err.println("❌ Не удалось загрузить сыгравших сегодня игроков: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Отметить завершенную игру дня
+     * Возвращает false, если игрок уже играл в этот день (проверка и отметка атомарны).
+     * Для дней, которых нет в памяти, повтор отсекается ограничением уникальности в БД
+     */
+    public boolean markPlayed(GameStats gameStats) {
+        DailyPlayedIndex index = gameStats.getGameDate().equals(localTimeService.getCurrentMoscowDate())
+            ? todayIndex()
+            : playedByDate.get(gameStats.getGameDate());
+        return index == null || index.markPlayed(gameStats);
+    }
+    
+    /**
+     * Снять отметку игры дня, если ее не удалось принять к записи (игрок снова может сыграть)
+     */
+    public void unmarkPlayed(GameStats gameStats) {
+        DailyPlayedIndex index = playedByDate.get(gameStats.getGameDate());
+        if (index != null) {
+            index.unmarkPlayed(gameStats.getPlayerId());
+        }
+    }
+    
     /**
      * Проверяет, может ли игрок играть в режиме дня сегодня
      * Возвращает true, если игрок еще не играл сегодня
@@ -28,8 +80,8 @@ public class DailyGameValidationService {
     public boolean canPlayerPlayToday(String playerId) {
         LocalDate today = localTimeService.getCurrentMoscowDate();
         
-        // Ищем записи игрока за сегодня
-        GameStatsEntity existingGame = gameStatsRepository.findByGameDateAndPlayerId(today, playerId);
+        // Ищем результат игрока за сегодня в индексе дня
+        GameStatsEntity existingGame = getTodayGameResult(playerId);
         
         boolean canPlay = existingGame == null;
         
@@ -55,13 +107,25 @@ public class DailyGameValidationService {
      */
     public GameStatsEntity getTodayGameResult(String playerId) {
         LocalDate today = localTimeService.getCurrentMoscowDate();
-        return gameStatsRepository.findByGameDateAndPlayerId(today, playerId);
+        DailyPlayedIndex index;
+        try {
+            index = indexFor(today);
+        } catch (RuntimeException e) {
+            // Индекс дня не загрузился: проверяем одного игрока запросом, индекс загрузит следующая проверка
+            System.err.println("❌ Не удалось загрузить сыгравших " + today + " игроков: " + e.getMessage());
+            return gameStatsRepository.findByGameDateAndPlayerId(today, playerId);
+        }
+        return index.getResult(playerId);
     }
     
     /**
      * Проверяет, может ли игрок играть в режиме дня в указанную дату
      */
     public boolean canPlayerPlayOnDate(String playerId, LocalDate date) {
+        DailyPlayedIndex index = playedByDate.get(date);
+        if (index != null) {
+            return !index.hasPlayed(playerId);
+        }
         GameStatsEntity existingGame = gameStatsRepository.findByGameDateAndPlayerId(date, playerId);
         return existingGame == null;
     }
@@ -70,8 +134,7 @@ public class DailyGameValidationService {
      * Получает информацию о том, почему игрок не может играть
      */
     public String getPlayRestrictionReason(String playerId) {
-        LocalDate today = localTimeService.getCurrentMoscowDate();
-        GameStatsEntity existingGame = gameStatsRepository.findByGameDateAndPlayerId(today, playerId);
+        GameStatsEntity existingGame = getTodayGameResult(playerId);
         
         if (existingGame == null) {
             return "Игрок может играть";
@@ -116,6 +179,61 @@ public class DailyGameValidationService {
         return stats.toString();
     }
     
+    /**
+     * Перед полуночью создаем индекс следующего дня (пустой, если игр еще нет)
+     */
+    @Override
+    public void prepareForDate(LocalDate nextDate) {
+        indexFor(nextDate);
+    }
+    
+    /**
+     * В полночь переключаемся на индекс нового дня; вчерашний оставляем (как и статистику дня
+     * в StatsService), более старые удаляем
+     */
+    @Override
+    public void activateDate(LocalDate date) {
+        indexFor(date);
+        LocalDate yesterday = date.minusDays(1);
+        playedByDate.keySet().removeIf(day -> day.isBefore(yesterday));
+    }
+    
+    /**
+     * Сбросить сыгравших за дату (после удаления статистики дня): игроки снова могут играть
+     */
+    public void resetDate(LocalDate date) {
+        playedByDate.computeIfPresent(date, (day, index) -> new DailyPlayedIndex(day));
+    }
+    
+    /**
+     * Индекс дня, если он в памяти (null - день не загружен)
+     */
+    DailyPlayedIndex getPlayedIndex(LocalDate date) {
+        return playedByDate.get(date);
+    }
+    
+    private DailyPlayedIndex todayIndex() {
+        return indexFor(localTimeService.getCurrentMoscowDate());
+    }
+    
+    /**
+     * Индекс дня; если его нет, загружаем из БД вне карты, чтобы загрузка не блокировала проверки
+     * других дней, и публикуем через putIfAbsent (при параллельной загрузке остается первый индекс)
+     */
+    private DailyPlayedIndex indexFor(LocalDate date) {
+        DailyPlayedIndex index = playedByDate.get(date);
+        if (index != null) {
+            return index;
+        }
+        DailyPlayedIndex loaded = loadIndex(date);
+        DailyPlayedIndex published = playedByDate.putIfAbsent(date, loaded);
+        return published != null ? published : loaded;
+    }
+    
+    private DailyPlayedIndex loadIndex(LocalDate date) {
+        return DailyPlayedIndex.fromEntities(date, gameStatsRepository.findByGameDateOrderByAttemptsAscGameTimeSecondsAsc(date));
+    }
+    
     /**
      * Проверяет, является ли время валидным для игры в режиме дня
      * Игра возможна с 00:01 до 23:59 по московскому времени
@@ -0,0 +1,142 @@
+package org.example.wordle.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Рейтинг успешных игр одного дня с порядковой статистикой
+ *
+ * Порядок: попытки, время игры, время завершения, идентификатор игрока.
+ * - дерево Фенвика на AtomicIntegerArray считает игры в корзинах (попытки x секунды игры,
+ *   секунды ограничены MAX_TRACKED_SECONDS, более долгие игры попадают в одну корзину),
+ *   поэтому число игроков выше заданного результата считается за O(log n)
+ * - ConcurrentSkipListSet хранит сами результаты: из него берется топ N и порядок
+ *   внутри одной корзины (игры с одинаковыми попытками и секундами)
+ */
+final class DailyLeaderboard {
+
+    /**
+     * Игры длиннее двух часов ранжируются внутри одной корзины
+     */
+    static final int MAX_TRACKED_SECONDS = 7200;
+
+    private static final int MAX_ATTEMPTS = 6;
+
+    private static final int SECONDS_BUCKETS = MAX_TRACKED_SECONDS + 2; // 0..MAX и корзина переполнения
+
+    /**
+     * Результат игры в рейтинге (неизменяемый)
+     */
+    static final class Entry {
+        final String playerId;
+        final int attempts;
+        final int gameTimeSeconds;
+        final LocalDateTime completedAt;
+
+        Entry(String playerId, int attempts, int gameTimeSeconds, LocalDateTime completedAt) {
+            this.playerId = playerId;
+            this.attempts = attempts;
+            this.gameTimeSeconds = gameTimeSeconds;
+            this.completedAt = completedAt;
+        }
+    }
+
+    static final Comparator<Entry> ORDER = Comparator
+            .comparingInt((Entry entry) -> entry.attempts)
+            .thenComparingInt(entry -> entry.gameTimeSeconds)
+            .thenComparing(entry -> entry.completedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(entry -> entry.playerId);
+
+    private final ConcurrentSkipListSet<Entry> entries = new ConcurrentSkipListSet<>(ORDER);
+
+    // Дерево Фенвика, индексы с 1
+    private final AtomicIntegerArray tree = new AtomicIntegerArray(MAX_ATTEMPTS * SECONDS_BUCKETS + 1);
+
+    /**
+     * Добавить успешную игру (каждый игрок добавляется один раз, это проверяет вызывающий код)
+     */
+    void add(Entry entry) {
+        if (!entries.add(entry)) {
+            return;
+        }
+        for (int i = bucketOf(entry) + 1; i < tree.length(); i += i & -i) {
+            tree.incrementAndGet(i);
+        }
+    }
+
+    /**
+     * Место результата в рейтинге (с 1); результат должен быть добавлен в рейтинг
+     */
+    int rankOf(Entry entry) {
+        int bucket = bucketOf(entry);
+        int before = countBefore(bucket);
+        // Внутри корзины порядок определяет сам skip list, корзина обычно содержит единицы игр
+        int sameBucketBefore = entries.subSet(bucketStart(bucket), true, entry, false).size();
+        return before + sameBucketBefore + 1;
+    }
+
+    /**
+     * Первые limit результатов в порядке рейтинга
+     */
+    List<Entry> top(int limit) {
+        return firstOf(entries, limit);
+    }
+
+    /**
+     * Первые limit результатов строго после указанного ключа (следующая страница рейтинга)
+     */
+    List<Entry> after(Entry from, int limit) {
+        return firstOf(entries.tailSet(from, false), limit);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static List<Entry> firstOf(Iterable<Entry> source, int limit) {
+        List<Entry> result = new ArrayList<>(Math.min(limit, 64));
+        for (Entry entry : source) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(entry);
+        }
+        return result;
+    }
+
+    /**
+     * Количество игр в корзинах строго до указанной
+     */
+    private int countBefore(int bucket) {
+        int sum = 0;
+        for (int i = bucket; i > 0; i -= i & -i) {
+            sum += tree.get(i);
+        }
+        return sum;
+    }
+
+    private static int bucketOf(Entry entry) {
+        int attempts = Math.max(1, Math.min(MAX_ATTEMPTS, entry.attempts));
+        return (attempts - 1) * SECONDS_BUCKETS + secondsBucket(entry.gameTimeSeconds);
+    }
+
+    private static int secondsBucket(int seconds) {
+        if (seconds <= 0) {
+            return 0;
+        }
+        return Math.min(seconds, MAX_TRACKED_SECONDS + 1);
+    }
+
+    /**
+     * Наименьший возможный результат корзины (граница для subSet)
+     */
+    private static Entry bucketStart(int bucket) {
+        int attempts = bucket / SECONDS_BUCKETS + 1;
+        int seconds = bucket % SECONDS_BUCKETS;
+        return new Entry("", attempts, seconds == 0 ? Integer.MIN_VALUE : seconds, LocalDateTime.MIN);
+    }
+}
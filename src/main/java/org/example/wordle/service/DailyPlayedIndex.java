@@ -0,0 +1,109 @@
+package org.example.wordle.service;
+
+import org.example.wordle.model.GameStats;
+import org.example.wordle.model.GameStatsEntity;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Игроки, уже завершившие игру дня, с кратким результатом
+ *
+ * Для каждого игрока хранится только PlayedGame (попытки, время игры и время завершения в секундах
+ * от начала дня), слово дня - одно на весь индекс. Запись атомарна (putIfAbsent), поэтому индекс
+ * одновременно служит защитой от повторной записи игры.
+ */
+public final class DailyPlayedIndex {
+
+    private final LocalDate gameDate;
+    private volatile String targetWord;
+
+    private final ConcurrentMap<String, PlayedGame> players = new ConcurrentHashMap<>();
+
+    public DailyPlayedIndex(LocalDate gameDate) {
+        this.gameDate = gameDate;
+    }
+
+    /**
+     * Собрать индекс из сохраненных игр дня
+     */
+    public static DailyPlayedIndex fromEntities(LocalDate gameDate, List<GameStatsEntity> games) {
+        DailyPlayedIndex index = new DailyPlayedIndex(gameDate);
+        for (GameStatsEntity game : games) {
+            index.markPlayed(game.getPlayerId(), game.getAttempts(), game.getGameTimeSeconds(), game.getCompletedAt(),
+                    game.getTargetWord());
+        }
+        return index;
+    }
+
+    /**
+     * Отметить игру игрока
+     * @return false, если игрок уже играл в этот день
+     */
+    public boolean markPlayed(GameStats game) {
+        return markPlayed(game.getPlayerId(), game.getAttempts(), game.getGameTimeSeconds(), game.getCompletedAt(),
+                game.getTargetWord());
+    }
+
+    private boolean markPlayed(String playerId, int attempts, int gameTimeSeconds, LocalDateTime completedAt,
+                               String word) {
+        int completedSecond = (int) Duration.between(gameDate.atStartOfDay(), completedAt).getSeconds();
+        if (players.putIfAbsent(playerId, new PlayedGame(attempts, gameTimeSeconds, completedSecond)) != null) {
+            return false;
+        }
+        if (targetWord == null) {
+            targetWord = word;
+        }
+        return true;
+    }
+
+    /**
+     * Снять отметку игрока, если его игру не удалось принять к записи
+     */
+    public void unmarkPlayed(String playerId) {
+        players.remove(playerId);
+    }
+
+    public boolean hasPlayed(String playerId) {
+        return players.containsKey(playerId);
+    }
+
+    /**
+     * Результат игрока в виде записи статистики (null - игрок не играл)
+     */
+    public GameStatsEntity getResult(String playerId) {
+        PlayedGame game = players.get(playerId);
+        if (game == null) {
+            return null;
+        }
+        return new GameStatsEntity(new GameStats(gameDate, game.attempts,
+                gameDate.atStartOfDay().plusSeconds(game.completedSecond), playerId, targetWord, game.gameTimeSeconds));
+    }
+
+    public LocalDate getGameDate() {
+        return gameDate;
+    }
+
+    public int size() {
+        return players.size();
+    }
+
+    /**
+     * Краткий результат: попытки (0 - не угадал), время игры и время завершения в секундах от начала дня
+     */
+    private static final class PlayedGame {
+        private final byte attempts;
+        private final int gameTimeSeconds;
+        private final int completedSecond;
+
+        private PlayedGame(int attempts, int gameTimeSeconds, int completedSecond) {
+            this.attempts = (byte) attempts;
+            this.gameTimeSeconds = gameTimeSeconds;
+            this.completedSecond = completedSecond;
+        }
+    }
+}
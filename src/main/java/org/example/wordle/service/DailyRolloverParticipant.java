@@ -0,0 +1,24 @@
+package org.example.wordle.service;
+
+import java.time.LocalDate;
+
+/**
+ * Компонент с данными, привязанными к игровому дню (московское время)
+ *
+ * MidnightRolloverScheduler незадолго до полуночи вызывает prepareForDate, чтобы данные
+ * следующего дня были готовы заранее, а в полночь - activateDate, чтобы переключиться на них.
+ * Реализации не должны полагаться на то, что оба вызова состоятся (например, приложение
+ * запустилось в 23:58): без подготовки данные дня создаются при первом обращении.
+ */
+public interface DailyRolloverParticipant {
+
+    /**
+     * Подготовить данные для следующего дня, не меняя текущих
+     */
+    void prepareForDate(LocalDate nextDate);
+
+    /**
+     * Переключиться на наступивший день
+     */
+    void activateDate(LocalDate date);
+}
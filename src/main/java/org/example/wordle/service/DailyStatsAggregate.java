@@ -0,0 +1,161 @@
+package org.example.wordle.service;
+
+import org.example.wordle.model.DailyStats;
+import org.example.wordle.model.GameStatsEntity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Статистика одного игрового дня в памяти, обновляемая по мере завершения игр
+ *
+ * - счетчики игроков, успешных игр и распределение по попыткам - атомарные, обновляются за O(1)
+ * - успешные результаты хранятся в DailyLeaderboard: место игрока и топ N считаются
+ *   за O(log n) без сборки полного списка
+ * - наружу отдается только ограниченная страница рейтинга (топ N или страница после курсора),
+ *   поэтому размер ответа не зависит от числа игроков
+ * - игроки дня и их результаты хранятся только в DailyPlayedIndex: он отсекает повторную запись,
+ *   а место игрока считается по результату из индекса
+ */
+public final class DailyStatsAggregate {
+
+    private static final int MAX_ATTEMPTS = 6;
+
+    private final LocalDate gameDate;
+    private volatile String targetWord;
+
+    private final AtomicInteger totalPlayers = new AtomicInteger();
+    private final AtomicInteger successfulPlayers = new AtomicInteger();
+    private final AtomicIntegerArray attemptsDistribution = new AtomicIntegerArray(MAX_ATTEMPTS + 1);
+
+    // Рейтинг успешных игр
+    private final DailyLeaderboard leaderboard = new DailyLeaderboard();
+
+    public DailyStatsAggregate(LocalDate gameDate) {
+        this.gameDate = gameDate;
+    }
+
+    /**
+     * Собрать агрегат из сохраненных игр дня (при запуске приложения)
+     */
+    public static DailyStatsAggregate fromEntities(LocalDate gameDate, List<GameStatsEntity> games) {
+        DailyStatsAggregate aggregate = new DailyStatsAggregate(gameDate);
+        for (GameStatsEntity game : games) {
+            aggregate.record(game);
+        }
+        return aggregate;
+    }
+
+    public LocalDate getGameDate() {
+        return gameDate;
+    }
+
+    /**
+     * Учесть завершенную игру (каждый игрок учитывается один раз, повтор отсекает DailyPlayedIndex)
+     */
+    public void record(GameStatsEntity game) {
+        record(game.getPlayerId(), game.getAttempts(), game.isSuccess(), game.getGameTimeSeconds(),
+                game.getCompletedAt(), game.getTargetWord());
+    }
+
+    /**
+     * Учесть завершенную игру (каждый игрок учитывается один раз, повтор отсекает DailyPlayedIndex)
+     */
+    public void record(String playerId, int attempts, boolean success, int gameTimeSeconds,
+                       LocalDateTime completedAt, String word) {
+        if (targetWord == null) {
+            targetWord = word;
+        }
+        totalPlayers.incrementAndGet();
+        if (success) {
+            successfulPlayers.incrementAndGet();
+            if (attempts >= 1 && attempts <= MAX_ATTEMPTS) {
+                attemptsDistribution.incrementAndGet(attempts);
+            }
+            leaderboard.add(toEntry(playerId, attempts, gameTimeSeconds, completedAt));
+        }
+    }
+
+    /**
+     * Статистика дня с первой страницей рейтинга из limit игроков
+     */
+    public DailyStats toDailyStats(int limit) {
+        return toDailyStats(limit, null);
+    }
+
+    /**
+     * Статистика дня со страницей рейтинга из limit игроков после курсора (null - с начала рейтинга)
+     */
+    public DailyStats toDailyStats(int limit, LeaderboardCursor cursor) {
+        int total = totalPlayers.get();
+        int successful = successfulPlayers.get();
+        double successRate = total > 0 ? (double) successful / total * 100 : 0.0;
+
+        Map<Integer, Integer> distribution = new HashMap<>();
+        for (int attempts = 1; attempts <= MAX_ATTEMPTS; attempts++) {
+            int count = attemptsDistribution.get(attempts);
+            if (count > 0) {
+                distribution.put(attempts, count);
+            }
+        }
+
+        // Берем на одну запись больше, чтобы понять, есть ли следующая страница
+        int fetch = limit < Integer.MAX_VALUE ? limit + 1 : limit;
+        List<DailyLeaderboard.Entry> page = cursor == null
+                ? leaderboard.top(fetch)
+                : leaderboard.after(new DailyLeaderboard.Entry(cursor.getPlayerId(), cursor.getAttempts(),
+                        cursor.getGameTimeSeconds(), cursor.getCompletedAt()), fetch);
+
+        List<DailyStats.PlayerResult> topPlayers = new ArrayList<>(Math.min(page.size(), limit));
+        int rank = cursor == null ? 0 : cursor.getRank();
+        for (int i = 0; i < page.size() && i < limit; i++) {
+            topPlayers.add(toPlayerResult(page.get(i), ++rank));
+        }
+        String nextCursor = page.size() > limit && !topPlayers.isEmpty()
+                ? LeaderboardCursor.after(topPlayers.get(topPlayers.size() - 1)).encode()
+                : null;
+
+        String word = targetWord;
+        return new DailyStats(gameDate, word != null ? word : "", total, successful, successRate,
+                distribution, topPlayers, null, nextCursor);
+    }
+
+    /**
+     * Результат игрока с местом в рейтинге (O(log n)) по его игре из DailyPlayedIndex
+     * (null - игрок не играл); для не угадавших и не игравших - результат без успеха
+     */
+    public DailyStats.PlayerResult getPlayerResult(String playerId, GameStatsEntity game) {
+        if (game == null || !game.isSuccess()) {
+            return new DailyStats.PlayerResult(playerId, 0, null, 0, false, 0);
+        }
+        DailyLeaderboard.Entry entry = toEntry(playerId, game.getAttempts(), game.getGameTimeSeconds(),
+                game.getCompletedAt());
+        return toPlayerResult(entry, leaderboard.rankOf(entry));
+    }
+
+    public int getTotalPlayers() {
+        return totalPlayers.get();
+    }
+
+    /**
+     * Время завершения хранится с точностью до секунды, как в DailyPlayedIndex, поэтому результат из индекса
+     * совпадает с записью рейтинга
+     */
+    private static DailyLeaderboard.Entry toEntry(String playerId, int attempts, int gameTimeSeconds,
+                                                  LocalDateTime completedAt) {
+        return new DailyLeaderboard.Entry(playerId, attempts, gameTimeSeconds,
+                completedAt != null ? completedAt.truncatedTo(ChronoUnit.SECONDS) : null);
+    }
+
+    private static DailyStats.PlayerResult toPlayerResult(DailyLeaderboard.Entry entry, int rank) {
+        return new DailyStats.PlayerResult(entry.playerId, entry.attempts, entry.completedAt, rank, true,
+                entry.gameTimeSeconds);
+    }
+}
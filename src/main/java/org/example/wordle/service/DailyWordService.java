@@ -1,41 +1,146 @@
 package org.example.wordle.service;
 
+import org.example.wordle.model.DailyWordCalendarEntity;
+import org.example.wordle.repository.DailyWordCalendarRepository;
 import org.example.wordle.repository.WordsRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Сервис для управления ежедневными словами
+ *
+ * Слова дня хранятся в таблице daily_word_calendar: фоновая задача заранее заполняет календарь
+ * (по умолчанию на 365 дней вперед), прошлые даты читаются из той же таблицы.
+ * Слово на сегодня хранится в неизменяемом снимке, поэтому getTodayWord - одно чтение AtomicReference.
  */
 @Service
-public class DailyWordService {
+public class DailyWordService implements DailyRolloverParticipant {
 
     private final WordsRepository wordsRepository;
     private final DictionaryApiService dictionaryApiService;
     private final LocalTimeService localTimeService;
-    
-    // Кэш для слова дня - избегаем повторного выбора в течение дня
-    private String cachedTodayWord = null;
-    private LocalDate cachedDate = null;
+    private final TargetWordValidationService targetWordValidationService;
+    // null - календарь не хранится (например, в тестах без базы данных)
+    private final DailyWordCalendarRepository calendarRepository;
+
+    /**
+     * Слово, закрепленное за датой (неизменяемый снимок)
+     */
+    private static final class DailyWord {
+        final LocalDate date;
+        final String word;
+
+        DailyWord(LocalDate date, String word) {
+            this.date = date;
+            this.word = word;
+        }
+    }
+
+    // Слово дня на сегодня: читается без блокировок, заменяется целиком
+    private final AtomicReference<DailyWord> todayWord = new AtomicReference<>();
+    // Слово следующего дня, выбранное заранее перед полуночью
+    private final AtomicReference<DailyWord> nextWord = new AtomicReference<>();
+    // Выбор слова при смене даты выполняет один поток, остальные получают его результат
+    private final Object todayWordLock = new Object();
+
+    @Value("${daily-word.calendar.days-ahead:365}")
+    private int calendarDaysAhead = 365;
 
     @Autowired
-    public DailyWordService(WordsRepository wordsRepository, DictionaryApiService dictionaryApiService, LocalTimeService localTimeService) {
+    public DailyWordService(WordsRepository wordsRepository, DictionaryApiService dictionaryApiService,
+                            LocalTimeService localTimeService, TargetWordValidationService targetWordValidationService,
+                            DailyWordCalendarRepository calendarRepository) {
         this.wordsRepository = wordsRepository;
         this.dictionaryApiService = dictionaryApiService;
         this.localTimeService = localTimeService;
+        this.targetWordValidationService = targetWordValidationService;
+        this.calendarRepository = calendarRepository;
     }
-    
+
     /**
      * Получить слово дня для указанной даты
+     * Сначала ищем в календаре; если даты там нет, выбираем слово и сохраняем его в календарь.
+     * При одновременной записи несколькими экземплярами приложения побеждает первая запись
+     */
+    public String getWordForDate(LocalDate date) {
+        if (calendarRepository == null) {
+            return computeWordForDate(date);
+        }
+
+        try {
+            Optional<DailyWordCalendarEntity> entry = calendarRepository.findById(date);
+            if (entry.isPresent()) {
+                return entry.get().getWord();
+            }
+
+            String word = computeWordForDate(date);
+            calendarRepository.insertIfAbsent(date, word, getGameNumberForDate(date), LocalDateTime.now());
+            return calendarRepository.findById(date).map(DailyWordCalendarEntity::getWord).orElse(word);
+        } catch (Exception e) {
+            // Без базы данных слово все равно можно вычислить: алгоритм детерминирован
+            System.err.println("Ошибка чтения календаря слов дня для " + date + ": " + e.getMessage());
+            return computeWordForDate(date);
+        }
+    }
+
+    /**
+     * Заранее заполняет календарь слов дня на calendarDaysAhead дней вперед
+     * Ждет завершения фоновой проверки списка слов, чтобы не обращаться к API для каждой даты
+     */
+    @Scheduled(initialDelayString = "${daily-word.calendar.initial-delay-ms:60000}",
+               fixedDelayString = "${daily-word.calendar.interval-ms:21600000}")
+    public void generateCalendar() {
+        if (calendarRepository == null) {
+            return;
+        }
+        if (!targetWordValidationService.isReady()) {
+            System.out.println("📅 Календарь слов дня: ждем завершения проверки списка слов");
+            return;
+        }
+
+        LocalDate startDate = localTimeService.getCurrentMoscowDate();
+        LocalDate endDate = startDate.plusDays(calendarDaysAhead);
+        try {
+            if (calendarRepository.countByGameDateBetween(startDate, endDate) > calendarDaysAhead) {
+                return;
+            }
+
+            Set<LocalDate> existingDates = new HashSet<>();
+            for (DailyWordCalendarEntity entry : calendarRepository.findByGameDateBetweenOrderByGameDateAsc(startDate, endDate)) {
+                existingDates.add(entry.getGameDate());
+            }
+
+            int added = 0;
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                if (!existingDates.contains(date)) {
+                    added += calendarRepository.insertIfAbsent(date, computeWordForDate(date),
+                            getGameNumberForDate(date), LocalDateTime.now());
+                }
+            }
+            System.out.println("📅 Календарь слов дня заполнен до " + endDate + ": добавлено " + added + " дней");
+        } catch (Exception e) {
+            System.err.println("Ошибка заполнения календаря слов дня: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Выбрать слово дня для даты (без календаря)
      * 
      * Алгоритм использует детерминированный seed на основе даты для обеспечения
      * стабильности в течение дня, но добавляет рандомность для более равномерного
      * распределения слов по датам. Включает валидацию через Яндекс API.
      */
-    public String getWordForDate(LocalDate date) {
+    private String computeWordForDate(LocalDate date) {
         // Получаем уже отфильтрованные 5-буквенные слова
         List<String> fiveLetterWords = wordsRepository.getFiveLetterWords();
         
@@ -62,7 +167,9 @@ public class DailyWordService {
     
     /**
      * Ищет валидное слово с проверкой через Яндекс API
-     * Если API недоступен или слово не проходит валидацию, выбирает другое слово
+     * Если API недоступен или слово не проходит валидацию, выбирает другое слово.
+     * Когда фоновая проверка списка завершена, используются ее результаты (без обращения к сети);
+     * порядок перебора кандидатов тот же, поэтому при тех же ответах API выбирается то же слово
      */
     private String findValidWordWithApiCheck(List<String> words, Random random, LocalDate date) {
         int maxAttempts = Math.min(50, words.size()); // Ограничиваем количество попыток
@@ -74,6 +181,18 @@ public class DailyWordService {
             baseIndex = random.nextInt(words.size());
         }
         
+        if (targetWordValidationService.isReady()) {
+            for (int attempt = 0; attempt < maxAttempts; attempt++) {
+                int wordIndex = (baseIndex + attempt) % words.size();
+                if (targetWordValidationService.isValidPosition(wordIndex)) {
+                    return words.get(wordIndex);
+                }
+            }
+            String fallbackWord = words.get(baseIndex);
+            System.out.println("Среди проверенных слов не нашлось валидного, используем fallback: " + fallbackWord);
+            return fallbackWord;
+        }
+        
         // Пробуем найти валидное слово, начиная с базового индекса
         for (int attempt = 0; attempt < maxAttempts; attempt++) {
             int wordIndex = (baseIndex + attempt) % words.size();
@@ -98,27 +217,59 @@ public class DailyWordService {
     
     /**
      * Получить слово дня для сегодняшней даты (по московскому времени)
-     * Использует кэширование для избежания повторного выбора в течение дня
+     * Обычно это одно чтение снимка; при смене даты слово выбирает один поток
      */
     public String getTodayWord() {
         LocalDate today = localTimeService.getCurrentMoscowDate();
-        
-        // Проверяем кэш - если слово уже выбрано сегодня, возвращаем его
-        if (cachedTodayWord != null && cachedDate != null && cachedDate.equals(today)) {
-            System.out.println("📝 Используем кэшированное слово дня: " + cachedTodayWord + " (дата: " + today + ")");
-            return cachedTodayWord;
+        DailyWord current = todayWord.get();
+        if (current != null && current.date.equals(today)) {
+            return current.word;
         }
-        
-        // Выбираем новое слово дня
-        System.out.println("🎯 Выбираем новое слово дня для " + today + " (московское время)");
-        String todayWord = getWordForDate(today);
-        
-        // Сохраняем в кэш
-        cachedTodayWord = todayWord;
-        cachedDate = today;
-        
-        System.out.println("✅ Слово дня выбрано и закэшировано: " + todayWord + " (дата: " + today + ")");
-        return todayWord;
+
+        synchronized (todayWordLock) {
+            current = todayWord.get();
+            if (current != null && current.date.equals(today)) {
+                return current.word;
+            }
+
+            DailyWord prepared = nextWord.get();
+            if (prepared != null && prepared.date.equals(today)) {
+                // Полночь наступила раньше, чем сработало переключение: слово уже выбрано заранее
+                todayWord.set(prepared);
+                return prepared.word;
+            }
+
+            System.out.println("🎯 Выбираем слово дня для " + today + " (московское время)");
+            DailyWord selected = new DailyWord(today, getWordForDate(today));
+            todayWord.set(selected);
+            System.out.println("✅ Слово дня выбрано: " + selected.word + " (дата: " + today + ")");
+            return selected.word;
+        }
+    }
+    
+    /**
+     * Заранее выбрать слово следующего дня (до полуночи, текущее слово не меняется)
+     */
+    @Override
+    public void prepareForDate(LocalDate nextDate) {
+        DailyWord prepared = new DailyWord(nextDate, getWordForDate(nextDate));
+        nextWord.set(prepared);
+        System.out.println("🌙 Слово дня на " + nextDate + " подготовлено");
+    }
+
+    /**
+     * Переключить слово дня на подготовленное (или выбрать его, если подготовки не было)
+     */
+    @Override
+    public void activateDate(LocalDate date) {
+        DailyWord prepared = nextWord.get();
+        if (prepared != null && prepared.date.equals(date)) {
+            synchronized (todayWordLock) {
+                todayWord.set(prepared);
+            }
+            nextWord.compareAndSet(prepared, null);
+        }
+        getTodayWord();
     }
     
     /**
@@ -140,8 +291,8 @@ public class DailyWordService {
      * Полезно для тестирования или принудительного обновления
      */
     public void clearCache() {
-        cachedTodayWord = null;
-        cachedDate = null;
+        todayWord.set(null);
+        nextWord.set(null);
         System.out.println("🗑️ Кэш слова дня очищен");
     }
     
@@ -149,8 +300,9 @@ public class DailyWordService {
      * Получить информацию о текущем кэше
      */
     public String getCacheInfo() {
-        if (cachedTodayWord != null && cachedDate != null) {
-            return "Кэш: " + cachedTodayWord + " (дата: " + cachedDate + ")";
+        DailyWord current = todayWord.get();
+        if (current != null) {
+            return "Кэш: " + current.word + " (дата: " + current.date + ")";
         } else {
             return "Кэш пуст";
         }
@@ -1,43 +1,167 @@
 package org.example.wordle.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.example.wordle.model.RussianAlphabet;
 import org.example.wordle.repository.ExtendedWordsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.ResourceAccessException;
 
 import jakarta.annotation.PostConstruct;
-
+import jakarta.annotation.PreDestroy;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Map;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Сервис для работы с Яндекс.Словарь API
+ *
+ * Запросы к API неблокирующие (java.net.http.HttpClient.sendAsync) и обрабатываются
+ * на собственном ограниченном пуле потоков, а не на общем ForkJoinPool и не на потоках Tomcat.
+ * Число одновременно ожидающих ответа слов ограничено: при переполнении новые слова
+ * не ставятся в очередь, а проверяются fallback-валидацией (сброс нагрузки).
  */
 @Service
 public class DictionaryApiService {
 
-    private final RestTemplate restTemplate;
+    // Сообщения о каждом проверенном слове - на уровне DEBUG: на горячем пути их заменяют метрики wordle.dictionary.*
+    private static final Logger logger = LoggerFactory.getLogger(DictionaryApiService.class);
+
+    private static final String YANDEX_LOOKUP_URL =
+            "https://dictionary.yandex.net/api/v1/dicservice.json/lookup?key=%s&lang=ru-ru&text=%s";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * Откуда получен ответ о слове
+     * FALLBACK - настоящего ответа нет: ключ API не задан, перегрузка, выключатель разомкнут, ошибка или таймаут API
+     */
+    public enum VerdictSource { EXTENDED, CACHE, API, FALLBACK }
+
+    /**
+     * Ответ проверки слова вместе с его источником
+     */
+    public static final class WordVerdict {
+        private final boolean valid;
+        private final VerdictSource source;
+
+        public WordVerdict(boolean valid, VerdictSource source) {
+            this.valid = valid;
+            this.source = source;
+        }
+
+        public boolean isValid() {
+            return valid;
+        }
+
+        public VerdictSource getSource() {
+            return source;
+        }
+
+        /**
+         * Ответ fallback-валидации, а не словаря: его нельзя запоминать как проверенный
+         */
+        public boolean isFallback() {
+            return source == VerdictSource.FALLBACK;
+        }
+    }
+
+    private static final WordVerdict EXTENDED_VALID = new WordVerdict(true, VerdictSource.EXTENDED);
+
+    private final ThreadPoolExecutor apiExecutor;
+    private final HttpClient httpClient;
+    private final Semaphore lookupPermits;
     private final ExtendedWordsRepository extendedWordsRepository;
+    private final DictionaryVerdictCache verdictCache;
 
     @Value("${dictionary.api.yandex.key:}")
     private String yandexApiKey;
 
     @Value("${dictionary.api.timeout:5000}")
-    private int timeoutMs;
-
-    // Кэширование ошибок API на 1 час
-    private LocalDateTime lastApiErrorTime = null;
-    private static final int API_ERROR_CACHE_HOURS = 1;
-
-    public DictionaryApiService(ExtendedWordsRepository extendedWordsRepository) {
-        this.restTemplate = new RestTemplate();
+    private int timeoutMs = 5000;
+
+    // Ошибки API размыкают выключатель: пока он разомкнут, слова проверяются fallback-валидацией
+    private final CircuitBreaker apiCircuitBreaker;
+
+    // Запросы к API, которые выполняются прямо сейчас: параллельные проверки одного и того же
+    // нормализованного слова ждут один общий запрос вместо отдельного вызова на каждого игрока
+    private final ConcurrentMap<String, CompletableFuture<WordVerdict>> inFlightLookups = new ConcurrentHashMap<>();
+    private final LongAdder apiLookups = new LongAdder();
+    private final LongAdder coalescedLookups = new LongAdder();
+    private final LongAdder shedLookups = new LongAdder();
+
+    // Метрики: время проверки слова по уровню, на котором получен ответ (словарь, кэш, API, fallback),
+    // время и исход запросов к Яндекс API, причины fallback-валидации
+    private final MeterRegistry meterRegistry;
+    private final Timer extendedLookupTimer;
+    private final Timer cacheLookupTimer;
+    private final Timer apiLookupTimer;
+    private final Timer fallbackLookupTimer;
+
+    @Autowired
+    public DictionaryApiService(ExtendedWordsRepository extendedWordsRepository,
+                                DictionaryVerdictCache verdictCache,
+                                CircuitBreaker apiCircuitBreaker,
+                                @Value("${dictionary.api.max-concurrent:64}") int maxConcurrentLookups,
+                                @Value("${dictionary.api.executor.threads:4}") int executorThreads,
+                                @Value("${dictionary.api.executor.queue-capacity:256}") int executorQueueCapacity,
+                                MeterRegistry meterRegistry) {
         this.extendedWordsRepository = extendedWordsRepository;
+        this.verdictCache = verdictCache;
+        this.apiCircuitBreaker = apiCircuitBreaker;
+        this.lookupPermits = new Semaphore(maxConcurrentLookups);
+        this.apiExecutor = createApiExecutor(executorThreads, executorQueueCapacity);
+        // Таймаут задается на каждый запрос (dictionary.api.timeout), он включает и установку соединения
+        this.httpClient = HttpClient.newBuilder()
+                .executor(apiExecutor)
+                .build();
+
+        this.meterRegistry = meterRegistry;
+        this.extendedLookupTimer = meterRegistry.timer("wordle.dictionary.lookup", "tier", "extended");
+        this.cacheLookupTimer = meterRegistry.timer("wordle.dictionary.lookup", "tier", "cache");
+        this.apiLookupTimer = meterRegistry.timer("wordle.dictionary.lookup", "tier", "api");
+        this.fallbackLookupTimer = meterRegistry.timer("wordle.dictionary.lookup", "tier", "fallback");
+        meterRegistry.gaugeMapSize("wordle.dictionary.api.in-flight", Tags.empty(), inFlightLookups);
+        FunctionCounter.builder("wordle.dictionary.api.coalesced", coalescedLookups, LongAdder::sum).register(meterRegistry);
+    }
+
+    /**
+     * Пул для обработки ответов API: фиксированное число потоков-демонов и ограниченная очередь
+     * (при переполнении задача отклоняется, а не копится бесконечно)
+     */
+    private static ThreadPoolExecutor createApiExecutor(int threads, int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dictionary-api-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
     }
 
     @PostConstruct
@@ -46,35 +170,16 @@ public class DictionaryApiService {
                            (yandexApiKey != null && !yandexApiKey.isEmpty() ? "SET" : "NOT SET"));
     }
 
-    /**
-     * Проверяет, можно ли использовать API (не было ли ошибки в последний час)
-     */
-    private boolean canUseApi() {
-        if (yandexApiKey == null || yandexApiKey.isEmpty()) {
-            return false;
-        }
-        
-        if (lastApiErrorTime == null) {
-            return true;
-        }
-        
-        long hoursSinceLastError = ChronoUnit.HOURS.between(lastApiErrorTime, LocalDateTime.now());
-        boolean canUse = hoursSinceLastError >= API_ERROR_CACHE_HOURS;
-        
-        if (!canUse) {
-            long remainingMinutes = 60 - ChronoUnit.MINUTES.between(lastApiErrorTime, LocalDateTime.now());
-            System.out.println("API заблокирован из-за ошибки. Осталось минут до разблокировки: " + remainingMinutes);
-        }
-        
-        return canUse;
+    @PreDestroy
+    public void shutdown() {
+        apiExecutor.shutdownNow();
     }
 
     /**
-     * Отмечает время ошибки API
+     * Настроен ли ключ Яндекс.Словарь API
      */
-    private void markApiError() {
-        lastApiErrorTime = LocalDateTime.now();
-        System.out.println("API ошибка зафиксирована. API будет заблокирован на " + API_ERROR_CACHE_HOURS + " час(а)");
+    private boolean isApiConfigured() {
+        return yandexApiKey != null && !yandexApiKey.isEmpty();
     }
 
     /**
@@ -82,110 +187,263 @@ public class DictionaryApiService {
      * Сначала проверяет в расширенном словаре, затем через Яндекс API
      */
     public boolean isWordValid(String word) {
-        if (word == null || word.length() != 5) {
+        // Проверяем формат слова и нормализуем его за один проход
+        String normalizedWord = RussianAlphabet.normalizeWord(word);
+        if (normalizedWord == null) {
             return false;
         }
 
-        // Проверяем формат слова
-        if (!word.matches("[а-яА-ЯёЁ]{5}")) {
-            return false;
+        return isNormalizedWordValid(normalizedWord);
+    }
+
+    /**
+     * Асинхронная проверка слова: поток вызывающего не блокируется на время запроса к API
+     */
+    public CompletableFuture<Boolean> isWordValidAsync(String word) {
+        String normalizedWord = RussianAlphabet.normalizeWord(word);
+        if (normalizedWord == null) {
+            return CompletableFuture.completedFuture(false);
         }
 
+        return isNormalizedWordValidAsync(normalizedWord);
+    }
+
+    /**
+     * Проверяет слово, уже прошедшее RussianAlphabet.normalizeWord
+     * Позволяет вызывающему коду не повторять проверку формата и нормализацию
+     */
+    public boolean isNormalizedWordValid(String word) {
+        return isNormalizedWordValidAsync(word).join();
+    }
+
+    /**
+     * Асинхронный вариант isNormalizedWordValid
+     * Словарь и кэш проверяются сразу, и только для неизвестного слова ждем ответа API
+     */
+    public CompletableFuture<Boolean> isNormalizedWordValidAsync(String word) {
+        return lookupAsync(word).thenApply(WordVerdict::isValid);
+    }
+
+    /**
+     * Ответ о нормализованном слове, известный без обращения к сети (расширенный словарь или кэш проверок)
+     * @return ответ или null, если слово нужно проверять через API
+     */
+    public WordVerdict getKnownVerdict(String word) {
         // ПЕРВЫЙ ЭТАП: Проверяем в расширенном словаре
-        if (extendedWordsRepository.containsWord(word)) {
-            System.out.println("Слово найдено в расширенном словаре: " + word);
-            return true;
-        }
-
-        // ВТОРОЙ ЭТАП: Проверяем, можно ли использовать API
-        if (!canUseApi()) {
-            System.out.println("API заблокирован из-за предыдущей ошибки, используем fallback валидацию для слова: " + word);
-            boolean isValid = checkWordInLocalDictionary(word);
-            if (!isValid) {
-                // Логируем случай, когда слово не найдено в расширенном словаре и API заблокирован
-                System.out.println("⚠️ СЛОВО НЕ НАЙДЕНО В РАСШИРЕННОМ СЛОВАРЕ И API ЗАБЛОКИРОВАН: " + word + " (пользователь пытался ввести неизвестное слово)");
-            }
-            return isValid;
+        if (extendedWordsRepository.containsNormalizedWord(word)) {
+            logger.debug("Слово найдено в расширенном словаре: {}", word);
+            return EXTENDED_VALID;
         }
 
-        // ТРЕТИЙ ЭТАП: Пробуем API с таймаутом
-        try {
-            CompletableFuture<Boolean> apiResult = CompletableFuture.supplyAsync(() -> {
-                try {
-                    return checkWordWithYandexApi(word);
-                } catch (Exception e) {
-                    return false;
-                }
-            });
+        // ВТОРОЙ ЭТАП: Ищем ранее полученный ответ API в кэше (память, затем база данных)
+        Boolean cachedVerdict = verdictCache.get(word);
+        return cachedVerdict != null ? new WordVerdict(cachedVerdict, VerdictSource.CACHE) : null;
+    }
+
+    /**
+     * Проверка нормализованного слова с источником ответа
+     * Вызывающий код может отличить ответ словаря от fallback-валидации (например, чтобы не запоминать последнюю)
+     */
+    public CompletableFuture<WordVerdict> lookupAsync(String word) {
+        long startedAt = System.nanoTime();
+
+        WordVerdict knownVerdict = getKnownVerdict(word);
+        if (knownVerdict != null) {
+            recordLookup(knownVerdict.getSource() == VerdictSource.EXTENDED ? extendedLookupTimer : cacheLookupTimer,
+                    startedAt);
+            return CompletableFuture.completedFuture(knownVerdict);
+        }
 
-            // Ждем результат с таймаутом
-            Boolean result = apiResult.get(timeoutMs, TimeUnit.MILLISECONDS);
+        // ТРЕТИЙ ЭТАП: Без ключа API принимаем любое корректное слово
+        if (!isApiConfigured()) {
+            countFallback("no-api-key");
+            recordLookup(fallbackLookupTimer, startedAt);
+            return CompletableFuture.completedFuture(fallbackVerdict(word));
+        }
 
-            return result != null && result;
+        // ЧЕТВЕРТЫЙ ЭТАП: Пробуем API с таймаутом (один запрос на слово для всех ожидающих)
+        // Источник ответа (API или fallback при перегрузке и разомкнутом выключателе) задает сам запрос
+        CompletableFuture<WordVerdict> apiResult = lookupWithYandexApi(word);
+
+        // Таймаут вешаем на копию, чтобы не завершить общий запрос за других ожидающих
+        return apiResult.copy()
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .handle((verdict, error) -> {
+                    if (error != null) {
+                        // Ошибку в выключатель записывает сам запрос (у него тот же таймаут)
+                        logger.debug("⚠️ Слово не найдено в расширенном словаре и API не ответил вовремя: {}", word);
+                        countFallback("timeout");
+                        recordLookup(fallbackLookupTimer, startedAt);
+                        return new WordVerdict(false, VerdictSource.FALLBACK);
+                    }
+                    // null - ошибка API, а не ответ о слове
+                    if (verdict == null) {
+                        countFallback("api-error");
+                        verdict = new WordVerdict(false, VerdictSource.FALLBACK);
+                    }
+                    recordLookup(verdict.isFallback() ? fallbackLookupTimer : apiLookupTimer, startedAt);
+                    return verdict;
+                });
+    }
 
-        } catch (Exception e) {
-            System.out.println("Яндекс API недоступен: " + e.getMessage());
-            // Отмечаем ошибку API для блокировки на час
-            markApiError();
-            // Логируем случай, когда API недоступен, но слово не найдено в расширенном словаре
-            System.out.println("⚠️ СЛОВО НЕ НАЙДЕНО В РАСШИРЕННОМ СЛОВАРЕ И API НЕДОСТУПЕН: " + word + " (пользователь пытался ввести неизвестное слово)");
-            return false;
+    /**
+     * Возвращает уже выполняющийся запрос к API для этого слова или запускает новый
+     * Результат запроса сохраняется в кэш один раз, до того как его увидят ожидающие.
+     * Если выключатель разомкнут или достигнут предел одновременных запросов,
+     * сразу возвращается результат fallback-валидации.
+     * @return ответ с источником (API или FALLBACK) или null, если API не ответил
+     */
+    private CompletableFuture<WordVerdict> lookupWithYandexApi(String word) {
+        CompletableFuture<WordVerdict> existing = inFlightLookups.get(word);
+        if (existing != null) {
+            coalescedLookups.increment();
+            return existing;
+        }
+
+        if (!lookupPermits.tryAcquire()) {
+            // Слишком много слов ждут ответа API: не копим очередь, а принимаем слово как при блокировке API
+            shedLookups.increment();
+            countFallback("shed");
+            return CompletableFuture.completedFuture(fallbackVerdict(word));
+        }
+
+        CompletableFuture<WordVerdict> lookup = new CompletableFuture<>();
+        existing = inFlightLookups.putIfAbsent(word, lookup);
+        if (existing != null) {
+            lookupPermits.release();
+            coalescedLookups.increment();
+            return existing;
         }
+
+        if (!apiCircuitBreaker.tryAcquirePermission()) {
+            countFallback("circuit-open");
+            lookupPermits.release();
+            inFlightLookups.remove(word, lookup);
+            lookup.complete(fallbackVerdict(word));
+            return lookup;
+        }
+
+        apiLookups.increment();
+        requestYandexApi(word).whenComplete((result, error) -> {
+            lookupPermits.release();
+            if (result != null) {
+                apiCircuitBreaker.recordSuccess();
+                verdictCache.put(word, result);
+            } else {
+                apiCircuitBreaker.recordFailure();
+            }
+            // Сначала убираем запрос из списка, затем завершаем: опоздавшие найдут ответ в кэше
+            inFlightLookups.remove(word, lookup);
+            lookup.complete(error == null && result != null ? new WordVerdict(result, VerdictSource.API) : null);
+        });
+        return lookup;
+    }
+
+    private WordVerdict fallbackVerdict(String normalizedWord) {
+        return new WordVerdict(checkWordInLocalDictionary(normalizedWord), VerdictSource.FALLBACK);
     }
 
     /**
-     * Fallback проверка в локальном словаре (WordsRepository)
+     * Fallback проверка, когда API недоступен
+     * Формат слова уже проверен при нормализации, поэтому принимаем любое корректное русское слово
      */
-    private boolean checkWordInLocalDictionary(String word) {
-        // Простая проверка на основе списка слов из WordsRepository
-        // Это базовый fallback когда API недоступен
-        return word != null && word.length() == 5 && word.matches("[а-яА-ЯёЁ]{5}");
+    private boolean checkWordInLocalDictionary(String normalizedWord) {
+        return normalizedWord != null;
     }
 
     /**
-     * Проверка через Яндекс.Словарь API
+     * Неблокирующий запрос к Яндекс.Словарь API
+     *
+     * В запрос уходит нормализованное слово в нижнем регистре (Ё уже заменена на Е), а не то, что ввел игрок:
+     * кэш результатов и объединение одновременных запросов ведутся по нормализованному слову,
+     * поэтому и спрашивать API нужно именно о нем ("ёжик" и "ежик" получают один общий ответ).
+     * @return ответ словаря или null, если API не ответил (ошибка, недоступность)
      */
-    private boolean checkWordWithYandexApi(String word) {
-        if (yandexApiKey == null || yandexApiKey.isEmpty()) {
-            return false;
+    private CompletableFuture<Boolean> requestYandexApi(String word) {
+        if (!isApiConfigured()) {
+            return CompletableFuture.completedFuture(null);
         }
 
         try {
-            String url = String.format(
-                    "https://dictionary.yandex.net/api/v1/dicservice.json/lookup?key=%s&lang=ru-ru&text=%s",
-                    yandexApiKey, word
-            );
+            String url = String.format(YANDEX_LOOKUP_URL,
+                    URLEncoder.encode(yandexApiKey, StandardCharsets.UTF_8),
+                    URLEncoder.encode(word.toLowerCase(), StandardCharsets.UTF_8));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofMillis(timeoutMs))
+                    .GET()
+                    .build();
+
+            long startedAt = System.nanoTime();
+            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .thenApply(response -> parseYandexResponse(word, response))
+                    .exceptionally(e -> {
+                        System.out.println("Яндекс API недоступен: " + e.getMessage());
+                        return null;
+                    })
+                    .whenComplete((found, error) -> recordYandexCall(startedAt,
+                            found == null ? "error" : found ? "found" : "not-found"));
+        } catch (Exception e) {
+            // Например, пул обработки ответов переполнен и отклонил задачу
+            System.out.println("Ошибка Яндекс API: " + e.getMessage());
+            meterRegistry.counter("wordle.dictionary.yandex.rejected").increment();
+            return CompletableFuture.completedFuture(null);
+        }
+    }
 
-            @SuppressWarnings("unchecked")
-            Map<String, Object> response = restTemplate.getForObject(url, Map.class);
+    private static void recordLookup(Timer timer, long startedAt) {
+        timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private void countFallback(String reason) {
+        meterRegistry.counter("wordle.dictionary.fallback", "reason", reason).increment();
+    }
 
-            @SuppressWarnings("unchecked")
-            List<Object> definitions = (List<Object>) response.get("def");
-            boolean found = definitions != null && !definitions.isEmpty();
+    /**
+     * Время запроса к Яндекс API с исходом: found, not-found или error (HTTP-ошибка, недоступность, неверный ответ)
+     */
+    private void recordYandexCall(long startedAt, String outcome) {
+        meterRegistry.timer("wordle.dictionary.yandex", "outcome", outcome)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Разбор ответа Яндекс.Словарь API: слово найдено, если список определений "def" не пуст
+     */
+    private Boolean parseYandexResponse(String word, HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            System.out.println("Яндекс API ошибка: " + response.statusCode());
+            return null;
+        }
+
+        try {
+            JsonNode definitions = OBJECT_MAPPER.readTree(response.body()).path("def");
+            boolean found = definitions.isArray() && definitions.size() > 0;
 
             if (found) {
-                System.out.println("✅ Яндекс API: слово '" + word + "' найдено в словаре");
+                logger.debug("✅ Яндекс API: слово '{}' найдено в словаре", word);
             } else {
-                System.out.println("❌ Яндекс API: слово '" + word + "' НЕ найдено в словаре");
+                logger.debug("❌ Яндекс API: слово '{}' НЕ найдено в словаре", word);
             }
 
             return found;
-
-        } catch (HttpClientErrorException e) {
-            System.out.println("Яндекс API ошибка: " + e.getStatusCode());
-            // Отмечаем ошибку API для блокировки на час
-            markApiError();
-        } catch (ResourceAccessException e) {
-            System.out.println("Яндекс API недоступен: " + e.getMessage());
-            // Отмечаем ошибку API для блокировки на час
-            markApiError();
         } catch (Exception e) {
             System.out.println("Ошибка Яндекс API: " + e.getMessage());
-            // Отмечаем ошибку API для блокировки на час
-            markApiError();
+            return null;
         }
+    }
 
-        return false;
+    /**
+     * Счетчики кэша результатов проверки слов и объединения запросов к API
+     */
+    public Map<String, Object> getVerdictCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(verdictCache.getStats());
+        stats.put("apiLookups", apiLookups.sum());
+        stats.put("coalescedLookups", coalescedLookups.sum());
+        stats.put("inFlightLookups", inFlightLookups.size());
+        stats.put("shedLookups", shedLookups.sum());
+        stats.put("executorQueueSize", apiExecutor.getQueue().size());
+        stats.put("circuitBreaker", apiCircuitBreaker.getMetrics());
+        return stats;
     }
 
 
@@ -196,16 +454,23 @@ public class DictionaryApiService {
         StringBuilder status = new StringBuilder();
         status.append("Расширенный словарь: ").append(extendedWordsRepository.getWordCount()).append(" слов");
 
-        if (yandexApiKey != null && !yandexApiKey.isEmpty()) {
-            if (canUseApi()) {
-                status.append(", Яндекс.Словарь API: доступен");
-            } else {
-                long remainingMinutes = 60 - ChronoUnit.MINUTES.between(lastApiErrorTime, LocalDateTime.now());
-                status.append(", Яндекс.Словарь API: заблокирован (осталось ").append(remainingMinutes).append(" мин)");
+        if (isApiConfigured()) {
+            switch (apiCircuitBreaker.getState()) {
+                case CLOSED:
+                    status.append(", Яндекс.Словарь API: доступен");
+                    break;
+                case OPEN:
+                    long remainingSeconds = (apiCircuitBreaker.getRemainingOpenMillis() + 999) / 1000;
+                    status.append(", Яндекс.Словарь API: заблокирован (осталось ").append(remainingSeconds).append(" с)");
+                    break;
+                default:
+                    status.append(", Яндекс.Словарь API: проверка восстановления");
+                    break;
             }
         } else {
             status.append(", Яндекс.Словарь API: не настроен");
         }
+        status.append(", ").append(verdictCache.getSummary());
 
         return status.toString();
     }
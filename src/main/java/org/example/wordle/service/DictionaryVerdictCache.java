@@ -0,0 +1,146 @@
+package org.example.wordle.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.wordle.model.DictionaryVerdictEntity;
+import org.example.wordle.repository.DictionaryVerdictRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Двухуровневый кэш результатов проверки слов через Яндекс.Словарь API
+ * - память: ограниченный по размеру кэш Caffeine (W-TinyLFU) с TTL
+ * - база данных: таблица dictionary_verdicts, переживает перезапуск приложения
+ * Ключ - нормализованное слово (заглавные буквы, Ё заменена на Е).
+ */
+@Service
+public class DictionaryVerdictCache {
+
+    private static final long DEFAULT_MAX_SIZE = 50_000;
+
+    private static final long DEFAULT_TTL_MINUTES = 720;
+
+    private static final long DEFAULT_PERSISTENT_TTL_DAYS = 90;
+
+    private final Cache<String, Boolean> memoryCache;
+
+    // null - кэш работает только в памяти (например, в тестах без базы данных)
+    private final DictionaryVerdictRepository verdictRepository;
+
+    private final Duration persistentTtl;
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder persistentHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder persistentErrors = new LongAdder();
+
+    @Autowired
+    public DictionaryVerdictCache(DictionaryVerdictRepository verdictRepository,
+                                  @Value("${dictionary.cache.max-size:50000}") long maxSize,
+                                  @Value("${dictionary.cache.ttl-minutes:720}") long ttlMinutes,
+                                  @Value("${dictionary.cache.persistent-ttl-days:90}") long persistentTtlDays) {
+        this.verdictRepository = verdictRepository;
+        this.persistentTtl = Duration.ofDays(persistentTtlDays);
+        this.memoryCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    /**
+     * Кэш только в памяти, без таблицы в базе данных
+     */
+    public static DictionaryVerdictCache inMemory() {
+        return new DictionaryVerdictCache(null, DEFAULT_MAX_SIZE, DEFAULT_TTL_MINUTES, DEFAULT_PERSISTENT_TTL_DAYS);
+    }
+
+    /**
+     * Найти сохраненный результат проверки
+     * @return true/false или null, если слово еще не проверялось (или запись устарела)
+     */
+    public Boolean get(String normalizedWord) {
+        Boolean verdict = memoryCache.getIfPresent(normalizedWord);
+        if (verdict != null) {
+            memoryHits.increment();
+            return verdict;
+        }
+
+        verdict = findPersistent(normalizedWord);
+        if (verdict != null) {
+            persistentHits.increment();
+            memoryCache.put(normalizedWord, verdict);
+            return verdict;
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Сохранить окончательный ответ API (ошибки и таймауты сохранять нельзя)
+     */
+    public void put(String normalizedWord, boolean valid) {
+        memoryCache.put(normalizedWord, valid);
+
+        if (verdictRepository == null) {
+            return;
+        }
+        try {
+            verdictRepository.save(new DictionaryVerdictEntity(normalizedWord, valid, LocalDateTime.now()));
+        } catch (Exception e) {
+            // Проверка слова не должна ломаться из-за базы: результат останется в памяти
+            persistentErrors.increment();
+            System.err.println("Не удалось сохранить результат проверки слова " + normalizedWord + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Счетчики попаданий и промахов кэша
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("memoryHits", memoryHits.sum());
+        stats.put("persistentHits", persistentHits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("persistentErrors", persistentErrors.sum());
+        stats.put("memorySize", memoryCache.estimatedSize());
+        stats.put("persistent", verdictRepository != null);
+        return stats;
+    }
+
+    /**
+     * Краткая сводка для статуса API
+     */
+    public String getSummary() {
+        long hits = memoryHits.sum() + persistentHits.sum();
+        long total = hits + misses.sum();
+        long hitRatePercent = total == 0 ? 0 : hits * 100 / total;
+        return "кэш проверок: " + hits + " попаданий (" + persistentHits.sum() + " из БД), "
+                + misses.sum() + " промахов, " + hitRatePercent + "%";
+    }
+
+    private Boolean findPersistent(String normalizedWord) {
+        if (verdictRepository == null) {
+            return null;
+        }
+        try {
+            Optional<DictionaryVerdictEntity> entity = verdictRepository.findById(normalizedWord);
+            if (entity.isEmpty() || entity.get().getCheckedAt().isBefore(LocalDateTime.now().minus(persistentTtl))) {
+                return null;
+            }
+            return entity.get().getValid();
+        } catch (Exception e) {
+            persistentErrors.increment();
+            System.err.println("Не удалось прочитать результат проверки слова " + normalizedWord + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package org.example.wordle.service;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
+
 import java.time.LocalDateTime;
 import java.util.Base64;
 import java.util.Map;
@@ -15,14 +18,28 @@ import java.util.UUID;
 @Service
 public class FriendGameService {
 
-    @Autowired
-    private LocalTimeService localTimeService;
+    private final LocalTimeService localTimeService;
 
     // Хранилище игр с друзьями: word_id -> загаданное слово
     private final Map<String, String> friendGames = new ConcurrentHashMap<>();
     
     // Хранилище метаданных: word_id -> время создания
     private final Map<String, LocalDateTime> gameTimestamps = new ConcurrentHashMap<>();
+    
+    private final MeterRegistry meterRegistry;
+    
+    public FriendGameService(LocalTimeService localTimeService, MeterRegistry meterRegistry) {
+        this.localTimeService = localTimeService;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * Размер хранилища игр с друзьями как метрика (хранилище только в памяти и растет со временем)
+     */
+    @PostConstruct
+    public void registerMetrics() {
+        meterRegistry.gaugeMapSize("wordle.friend-games.size", Tags.empty(), friendGames);
+    }
 
     /**
      * Сохранить слово для игры с другом
@@ -0,0 +1,730 @@
+package org.example.wordle.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.example.wordle.model.GameStats;
+import org.example.wordle.repository.PlayerStatsRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Отложенная пакетная запись завершенных игр дня (write-behind)
+ *
+ * Игра сначала дописывается в локальный журнал и сбрасывается на диск (fsync), затем попадает в ограниченную
+ * очередь. Фоновый поток забирает из очереди до batch-size игр (или сколько накопилось за flush-interval-ms)
+ * и в одной транзакции пишет их одним многострочным INSERT в game_stats, а статистику игроков -
+ * JDBC-пакетом upsert'ов. Повтор игры отсекается ограничением (game_date, player_id): ON CONFLICT DO NOTHING
+ * возвращает только новые строки, и персональная статистика обновляется только для них.
+ *
+ * Поэтому повторная запись пакета безопасна: после сбоя процесса или ОС журнал при старте дописывается в БД целиком.
+ * Журнал состоит из сегментов (journal-path.000001, .000002, ...): сегмент удаляется, когда все его игры
+ * сохранены, а новый начинается каждые SEGMENT_MAX_RECORDS игр. Несохраненная игра держит только свой сегмент.
+ * fsync групповой: один вызов force покрывает все игры, дописанные к этому моменту другими потоками.
+ * Журнал переживает перезапуск контейнера, только если journal-path указывает на постоянный том.
+ *
+ * Если очередь заполнена, вызывающий поток ждет до offer-timeout-ms, а затем пишет свою игру сам.
+ * Пакет, который не записывается MAX_BATCH_ATTEMPTS раз подряд, пишется по одной игре: игры, которые БД отвергает
+ * (ошибка данных, а не недоступность), откладываются в journal-path.rejected и больше не задерживают остальные.
+ */
+@Service
+public class GameStatsRecorder {
+
+    private static final String INSERT_GAMES_PREFIX = "INSERT INTO game_stats (game_date, attempts, completed_at, " +
+            "game_time_seconds, player_id, success, target_word) VALUES ";
+
+    private static final String INSERT_GAMES_ROW = "(?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_GAMES_SUFFIX = " ON CONFLICT (game_date, player_id) DO NOTHING " +
+            "RETURNING player_id, game_date";
+
+    private static final int COLUMNS_PER_ROW = 7;
+
+    // Протокол PostgreSQL ограничивает запрос 32767 параметрами
+    private static final int MAX_BATCH_SIZE = Short.MAX_VALUE / COLUMNS_PER_ROW;
+
+    private static final String JOURNAL_SEPARATOR = "\t";
+
+    private static final long RETRY_DELAY_MS = 1000;
+
+    // Период проверки в awaitFlushed
+    private static final long FLUSH_POLL_INTERVAL_MS = 10;
+
+    // После стольких неудачных попыток записать пакет целиком он пишется по одной игре
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+
+    // Игр в одном сегменте журнала
+    private static final int SEGMENT_MAX_RECORDS = 10_000;
+
+    private static final String REJECTED_SUFFIX = ".rejected";
+
+    /**
+     * Сегмент журнала: pending - игры сегмента, еще не сохраненные в БД (под journalLock)
+     */
+    private static final class Segment {
+        final long number;
+        final Path path;
+        FileChannel channel;
+        int records;
+        int pending;
+
+        Segment(long number, Path path) {
+            this.number = number;
+            this.path = path;
+        }
+    }
+
+    /**
+     * Игра, записанная в журнал, и ее сегмент
+     */
+    private static final class JournaledGame {
+        final GameStats game;
+        final Segment segment;
+
+        JournaledGame(GameStats game, Segment segment) {
+            this.game = game;
+            this.segment = segment;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<JournaledGame> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final Path journalPath;
+    private final Path rejectedPath;
+
+    // Запись в журнал, счетчики сегментов и смена активного сегмента - под одной блокировкой
+    private final Object journalLock = new Object();
+    private Segment activeSegment;
+    private long appendedSequence;
+
+    // fsync выполняет один поток за раз; syncedSequence - номер последней записи, уже сброшенной на диск
+    private final Object syncLock = new Object();
+    private long syncedSequence;
+
+    private final Object rejectedLock = new Object();
+
+    // Игры, записанные в журнал, но еще не сохраненные в БД (для метрики)
+    private final AtomicInteger unflushed = new AtomicInteger();
+
+    // Игры, которые не удалось записать при старте или напрямую: фоновый поток пишет их в первую очередь
+    private final Queue<JournaledGame> backlog = new ConcurrentLinkedQueue<>();
+
+    // Текущий пакет фонового потока: после его остановки пакет сохраняет shutdown
+    private final List<JournaledGame> batch = new ArrayList<>();
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    // Метрики: время записи пакета, размер пакета, синхронные записи при заполненной очереди и отложенные игры
+    private final Timer batchWriteTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter directWrites;
+    private final Counter rejectedGames;
+
+    public GameStatsRecorder(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${stats.recorder.queue-capacity:10000}") int queueCapacity,
+                             @Value("${stats.recorder.batch-size:500}") int batchSize,
+                             @Value("${stats.recorder.flush-interval-ms:20}") long flushIntervalMs,
+                             @Value("${stats.recorder.offer-timeout-ms:500}") long offerTimeoutMs,
+                             @Value("${stats.recorder.journal-path:data/game-stats.journal}") String journalPath,
+                             MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.journalPath = Paths.get(journalPath).toAbsolutePath();
+        this.rejectedPath = this.journalPath.resolveSibling(this.journalPath.getFileName() + REJECTED_SUFFIX);
+
+        this.batchWriteTimer = meterRegistry.timer("wordle.stats.recorder.batch-write");
+        this.batchSizeSummary = meterRegistry.summary("wordle.stats.recorder.batch-size");
+        this.directWrites = meterRegistry.counter("wordle.stats.recorder.direct-writes");
+        this.rejectedGames = meterRegistry.counter("wordle.stats.recorder.rejected");
+        meterRegistry.gaugeCollectionSize("wordle.stats.recorder.queue", Tags.empty(), queue);
+        meterRegistry.gauge("wordle.stats.recorder.unflushed", unflushed);
+        if (!Paths.get(journalPath).isAbsolute()) {
+            System.out.println("⚠️ Журнал статистики на относительном пути " + this.journalPath + ": в контейнере "
+                    + "без постоянного тома он не переживет перезапуск (задайте GAME_STATS_JOURNAL_PATH на томе)");
+        }
+    }
+
+    /**
+     * Дописать в БД игры, оставшиеся в журнале после прошлого запуска, и запустить фоновую запись
+     * (выполняется до загрузки статистики дня в StatsService, поэтому восстановленные игры попадут и в нее)
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(journalPath.getParent());
+
+        List<Segment> segments = findSegments();
+        List<JournaledGame> pending = new ArrayList<>();
+        for (Segment segment : segments) {
+            for (GameStats game : readSegment(segment.path)) {
+                pending.add(new JournaledGame(game, segment));
+                segment.pending++;
+            }
+        }
+
+        synchronized (journalLock) {
+            activeSegment = openSegment(segments.isEmpty() ? 1 : segments.get(segments.size() - 1).number + 1);
+            // Сегменты из одних недописанных строк больше не нужны
+            for (Segment segment : segments) {
+                if (segment.pending == 0) {
+                    deleteSegment(segment);
+                }
+            }
+        }
+        unflushed.set(pending.size());
+
+        int recovered = 0;
+        try {
+            for (; recovered < pending.size(); recovered += batchSize) {
+                List<JournaledGame> chunk = pending.subList(recovered, Math.min(recovered + batchSize, pending.size()));
+                writeBatch(games(chunk));
+                markFlushed(chunk);
+            }
+        } catch (RuntimeException e) {
+            // БД недоступна или отвергает часть игр: остаток допишет фоновый поток
+            System.err.println("❌ Не удалось дописать журнал статистики при старте: " + e.getMessage());
+        }
+        if (!pending.isEmpty()) {
+            recovered = Math.min(recovered, pending.size());
+            System.out.println("📒 Из журнала восстановлено игр: " + recovered + " из " + pending.size());
+            backlog.addAll(pending.subList(recovered, pending.size()));
+        }
+
+        running = true;
+        flusher = new Thread(this::flushLoop, "game-stats-recorder");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Принять завершенную игру к записи
+     * Игра сначала попадает в журнал (и на диск); при заполненной очереди поток ждет, а после таймаута пишет игру сам
+     * @throws UncheckedIOException если игру не удалось записать в журнал - тогда она не принята
+     */
+    public void submit(GameStats gameStats) {
+        JournaledGame entry = appendToJournal(gameStats);
+
+        try {
+            if (running && queue.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Очередь не освободилась: пишем синхронно, запись в журнале остается до успешного сохранения
+        System.out.println("⏳ Очередь записи статистики заполнена, игра " + gameStats.getPlayerId() + " пишется напрямую");
+        directWrites.increment();
+        try {
+            writeBatch(List.of(gameStats));
+            markFlushed(List.of(entry));
+        } catch (RuntimeException e) {
+            if (!isOutage(e) && reject(entry, e)) {
+                markFlushed(List.of(entry));
+            } else if (running) {
+                backlog.add(entry);
+                System.err.println("❌ Игра " + gameStats.getPlayerId() + " не сохранена напрямую, ее допишет фоновый поток: "
+                        + e.getMessage());
+            } else {
+                System.err.println("❌ Игра " + gameStats.getPlayerId() + " не сохранена, она будет дописана из журнала при перезапуске: "
+                        + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Количество игр, ожидающих записи в очереди
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Дождаться, пока все принятые игры (очередь, отложенные и текущий пакет) будут сохранены в БД или отложены
+     * Новые игры в это время принимаются, поэтому вызывающий код сам не дает их отправлять (StatsService.resetStatsForDate)
+     * @return false, если за timeoutMs записать не удалось (например, БД недоступна)
+     */
+    public boolean awaitFlushed(long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (unflushed.get() > 0) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            Thread.sleep(FLUSH_POLL_INTERVAL_MS);
+        }
+        return true;
+    }
+
+    /**
+     * Остановить фоновую запись и сохранить все, что осталось в очереди
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException, IOException {
+        running = false;
+        boolean flusherStopped = true;
+        if (flusher != null) {
+            flusher.interrupt();
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+            flusherStopped = !flusher.isAlive();
+        }
+
+        List<JournaledGame> remaining = new ArrayList<>();
+        if (flusherStopped) {
+            // Пакет, который фоновый поток не успел записать (после join он больше не меняется)
+            remaining.addAll(batch);
+        }
+        JournaledGame entry;
+        while ((entry = backlog.poll()) != null) {
+            remaining.add(entry);
+        }
+        queue.drainTo(remaining);
+        try {
+            for (int from = 0; from < remaining.size(); from += batchSize) {
+                List<JournaledGame> chunk = remaining.subList(from, Math.min(from + batchSize, remaining.size()));
+                writeBatch(games(chunk));
+                markFlushed(chunk);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("❌ Не удалось сохранить очередь статистики при остановке, игры остаются в журнале: "
+                    + e.getMessage());
+        }
+
+        synchronized (syncLock) {
+            synchronized (journalLock) {
+                if (activeSegment != null && activeSegment.channel.isOpen()) {
+                    activeSegment.channel.force(false);
+                    activeSegment.channel.close();
+                    if (activeSegment.pending == 0) {
+                        deleteSegment(activeSegment);
+                    }
+                }
+            }
+        }
+    }
+
+    private void flushLoop() {
+        int failedAttempts = 0;
+        while (running) {
+            try {
+                if (batch.isEmpty() && !collectBatch()) {
+                    continue;
+                }
+                if (failedAttempts < MAX_BATCH_ATTEMPTS) {
+                    writeBatch(games(batch));
+                    markFlushed(batch);
+                    batch.clear();
+                } else {
+                    // Пакет несколько раз подряд не записался целиком: пишем по одной игре,
+                    // чтобы игра с ошибкой данных не останавливала запись всех следующих
+                    writeOneByOne();
+                }
+                failedAttempts = 0;
+            } catch (InterruptedException e) {
+                // Остановка: текущий пакет сохранит shutdown
+                return;
+            } catch (RuntimeException e) {
+                // БД недоступна: пакет остается и записывается повторно, очередь тем временем заполняется
+                failedAttempts++;
+                System.err.println("❌ Ошибка пакетной записи статистики (" + batch.size() + " игр, попытка "
+                        + failedAttempts + "), повтор через " + RETRY_DELAY_MS + " мс: " + e.getMessage());
+                try {
+                    Thread.sleep(RETRY_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Собрать пакет: сначала игры, не записанные раньше, затем ждем первую игру из очереди
+     * и добираем до batch-size, но не дольше flush-interval-ms
+     * @return false, если за интервал игр не было
+     */
+    private boolean collectBatch() throws InterruptedException {
+        JournaledGame pending;
+        while (batch.size() < batchSize && (pending = backlog.poll()) != null) {
+            batch.add(pending);
+        }
+        if (batch.isEmpty()) {
+            JournaledGame first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+            if (first == null) {
+                return false;
+            }
+            batch.add(first);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            JournaledGame next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return true;
+    }
+
+    /**
+     * Записать текущий пакет по одной игре, откладывая игры, которые БД отвергает
+     * При недоступности БД выбрасывает исключение, незаписанные игры остаются в пакете
+     */
+    private void writeOneByOne() {
+        Iterator<JournaledGame> iterator = batch.iterator();
+        while (iterator.hasNext()) {
+            JournaledGame entry = iterator.next();
+            try {
+                writeBatch(List.of(entry.game));
+            } catch (RuntimeException e) {
+                if (isOutage(e) || !reject(entry, e)) {
+                    throw e;
+                }
+            }
+            iterator.remove();
+            markFlushed(List.of(entry));
+        }
+    }
+
+    /**
+     * Ошибка доступа к БД (соединение, таймаут, блокировка, транзакция), а не ошибка данных конкретной игры
+     */
+    private static boolean isOutage(RuntimeException e) {
+        return e instanceof TransientDataAccessException || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException || e instanceof TransactionException;
+    }
+
+    /**
+     * Отложить игру, которую БД отвергает, в journal-path.rejected (строка журнала, ее можно дописать вручную)
+     * @return false, если записать в файл отложенных игр не удалось - тогда игра остается в журнале
+     */
+    private boolean reject(JournaledGame entry, RuntimeException error) {
+        System.err.println("❌ Игра " + entry.game.getPlayerId() + " за " + entry.game.getGameDate()
+                + " отвергнута БД и отложена в " + rejectedPath + ": " + error.getMessage());
+        synchronized (rejectedLock) {
+            try {
+                Files.write(rejectedPath, toJournalLine(entry.game).getBytes(StandardCharsets.UTF_8),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND,
+                        StandardOpenOption.DSYNC);
+            } catch (IOException e) {
+                System.err.println("❌ Не удалось отложить игру в " + rejectedPath + ": " + e.getMessage());
+                return false;
+            }
+        }
+        rejectedGames.increment();
+        return true;
+    }
+
+    /**
+     * Записать пакет игр одной транзакцией: многострочный INSERT и пакет upsert'ов статистики игроков
+     */
+    private void writeBatch(List<GameStats> batch) {
+        batchSizeSummary.record(batch.size());
+        batchWriteTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+            // Полный пересчет player_stats (миграция, RECALCULATE_ALL_SQL) ждет, пока пакет не зафиксирован
+            jdbcTemplate.execute(PlayerStatsRepository.LOCK_GAME_INGESTION_SHARED_SQL);
+            Set<String> inserted = new HashSet<>(jdbcTemplate.query(buildInsertSql(batch.size()),
+                    (rs, rowNum) -> rs.getString("player_id") + JOURNAL_SEPARATOR + rs.getDate("game_date").toLocalDate(),
+                    insertArguments(batch)));
+
+            List<SqlParameterSource> playerUpdates = new ArrayList<>(inserted.size());
+            LocalDateTime now = LocalDateTime.now();
+            for (GameStats game : batch) {
+                if (inserted.remove(game.getPlayerId() + JOURNAL_SEPARATOR + game.getGameDate())) {
+                    playerUpdates.add(new MapSqlParameterSource()
+                            .addValue("playerId", game.getPlayerId())
+                            .addValue("won", game.isSuccess())
+                            .addValue("attempts", game.getAttempts())
+                            .addValue("gameDate", game.getGameDate())
+                            .addValue("now", now));
+                }
+            }
+            if (!playerUpdates.isEmpty()) {
+                namedJdbcTemplate.batchUpdate(PlayerStatsRepository.UPSERT_GAME_RESULT_SQL,
+                        playerUpdates.toArray(new SqlParameterSource[0]));
+            }
+        }));
+    }
+
+    private static String buildInsertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_GAMES_PREFIX.length() + rows * (INSERT_GAMES_ROW.length() + 2)
+                + INSERT_GAMES_SUFFIX.length());
+        sql.append(INSERT_GAMES_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(INSERT_GAMES_ROW);
+        }
+        return sql.append(INSERT_GAMES_SUFFIX).toString();
+    }
+
+    private static Object[] insertArguments(List<GameStats> batch) {
+        Object[] args = new Object[batch.size() * COLUMNS_PER_ROW];
+        int i = 0;
+        for (GameStats game : batch) {
+            args[i++] = Date.valueOf(game.getGameDate());
+            args[i++] = game.getAttempts();
+            args[i++] = Timestamp.valueOf(game.getCompletedAt());
+            args[i++] = game.getGameTimeSeconds();
+            args[i++] = game.getPlayerId();
+            args[i++] = game.isSuccess();
+            args[i++] = game.getTargetWord();
+        }
+        return args;
+    }
+
+    /**
+     * Дописать игру в активный сегмент журнала и дождаться, пока она окажется на диске
+     */
+    private JournaledGame appendToJournal(GameStats gameStats) {
+        ByteBuffer line = StandardCharsets.UTF_8.encode(toJournalLine(gameStats));
+        JournaledGame entry;
+        long sequence;
+        synchronized (journalLock) {
+            Segment segment = activeSegment;
+            long start = -1;
+            try {
+                start = segment.channel.position();
+                while (line.hasRemaining()) {
+                    segment.channel.write(line);
+                }
+            } catch (IOException e) {
+                // Обрезаем недописанную строку, чтобы она не склеилась со следующей
+                try {
+                    if (start >= 0) {
+                        segment.channel.truncate(start);
+                    }
+                } catch (IOException ignored) {
+                    // При чтении журнала такая строка все равно будет пропущена
+                }
+                throw new UncheckedIOException("Не удалось записать игру в журнал " + segment.path, e);
+            }
+            segment.records++;
+            segment.pending++;
+            sequence = ++appendedSequence;
+            entry = new JournaledGame(gameStats, segment);
+        }
+        unflushed.incrementAndGet();
+        syncJournal(sequence);
+        return entry;
+    }
+
+    /**
+     * Групповой fsync: если запись sequence уже покрыта чужим force, выходим сразу,
+     * иначе сбрасываем на диск все, что дописано к этому моменту. Заполненный сегмент здесь же сменяется новым
+     */
+    private void syncJournal(long sequence) {
+        synchronized (syncLock) {
+            if (syncedSequence >= sequence) {
+                return;
+            }
+            Segment segment;
+            long target;
+            boolean full;
+            synchronized (journalLock) {
+                segment = activeSegment;
+                target = appendedSequence;
+                full = segment.records >= SEGMENT_MAX_RECORDS;
+            }
+            // force вне journalLock: другие потоки тем временем продолжают дописывать журнал
+            try {
+                segment.channel.force(false);
+                syncedSequence = target;
+            } catch (IOException e) {
+                // Строка уже в журнале и будет записана в БД; следующий force повторит сброс на диск
+                System.err.println("❌ Не удалось сбросить журнал " + segment.path + " на диск: " + e.getMessage());
+            }
+
+            if (full) {
+                try {
+                    rotateSegment();
+                } catch (IOException e) {
+                    System.err.println("❌ Не удалось начать новый сегмент журнала статистики: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Закрыть активный сегмент и начать следующий (под syncLock, поэтому параллельного force нет)
+     */
+    private void rotateSegment() throws IOException {
+        synchronized (journalLock) {
+            Segment sealed = activeSegment;
+            Segment next = openSegment(sealed.number + 1);
+            // Строки, дописанные после последнего force, тоже должны оказаться на диске
+            sealed.channel.force(false);
+            sealed.channel.close();
+            syncedSequence = appendedSequence;
+            activeSegment = next;
+            if (sealed.pending == 0) {
+                deleteSegment(sealed);
+            }
+        }
+    }
+
+    /**
+     * Игры сохранены в БД (или отложены): сегмент, все игры которого сохранены, удаляется
+     */
+    private void markFlushed(List<JournaledGame> games) {
+        unflushed.addAndGet(-games.size());
+        synchronized (journalLock) {
+            for (JournaledGame entry : games) {
+                Segment segment = entry.segment;
+                if (--segment.pending == 0 && segment != activeSegment) {
+                    deleteSegment(segment);
+                }
+            }
+        }
+    }
+
+    private Segment openSegment(long number) throws IOException {
+        Segment segment = new Segment(number, journalPath.resolveSibling(
+                journalPath.getFileName() + "." + String.format("%06d", number)));
+        segment.channel = FileChannel.open(segment.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        // Запись о новом файле в каталоге тоже должна пережить сбой ОС
+        try (FileChannel directory = FileChannel.open(journalPath.getParent(), StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException e) {
+            // Не все ОС позволяют открыть каталог как файл
+        }
+        return segment;
+    }
+
+    private void deleteSegment(Segment segment) {
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            System.err.println("❌ Не удалось удалить сегмент журнала статистики " + segment.path + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Сегменты журнала по возрастанию номера; файл journal-path без номера (прежний формат) считается сегментом 0
+     */
+    private List<Segment> findSegments() throws IOException {
+        List<Segment> segments = new ArrayList<>();
+        if (Files.exists(journalPath)) {
+            segments.add(new Segment(0, journalPath));
+        }
+        String prefix = journalPath.getFileName() + ".";
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(journalPath.getParent())) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.length() > prefix.length() && name.startsWith(prefix)
+                        && name.chars().skip(prefix.length()).allMatch(Character::isDigit)) {
+                    segments.add(new Segment(Long.parseLong(name.substring(prefix.length())), file));
+                }
+            }
+        }
+        segments.sort(Comparator.comparingLong(segment -> segment.number));
+        return segments;
+    }
+
+    private static List<GameStats> readSegment(Path path) throws IOException {
+        List<GameStats> games = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                GameStats game = fromJournalLine(line);
+                if (game != null) {
+                    games.add(game);
+                }
+            }
+        }
+        return games;
+    }
+
+    private static List<GameStats> games(List<JournaledGame> entries) {
+        List<GameStats> games = new ArrayList<>(entries.size());
+        for (JournaledGame entry : entries) {
+            games.add(entry.game);
+        }
+        return games;
+    }
+
+    public static String toJournalLine(GameStats game) {
+        return game.getGameDate() + JOURNAL_SEPARATOR + game.getAttempts() + JOURNAL_SEPARATOR + game.getCompletedAt()
+                + JOURNAL_SEPARATOR + game.getGameTimeSeconds() + JOURNAL_SEPARATOR + game.getTargetWord()
+                + JOURNAL_SEPARATOR + game.getPlayerId() + JOURNAL_SEPARATOR + "\n";
+    }
+
+    /**
+     * Разобрать строку журнала
+     * Строка заканчивается разделителем: без него запись считается недописанной при сбое процесса
+     * @return null для поврежденной строки
+     */
+    public static GameStats fromJournalLine(String line) {
+        String[] fields = line.split(JOURNAL_SEPARATOR, -1);
+        if (fields.length != 7 || fields[5].isEmpty() || !fields[6].isEmpty()) {
+            return null;
+        }
+        try {
+            return new GameStats(LocalDate.parse(fields[0]), Integer.parseInt(fields[1]),
+                    LocalDateTime.parse(fields[2]), fields[5], fields[4], Integer.parseInt(fields[3]));
+        } catch (RuntimeException e) {
+            System.err.println("❌ Пропущена поврежденная строка журнала статистики: " + line);
+            return null;
+        }
+    }
+}
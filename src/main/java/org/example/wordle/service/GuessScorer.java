@@ -0,0 +1,86 @@
+package org.example.wordle.service;
+
+import org.example.wordle.model.LetterState;
+import org.example.wordle.model.RussianAlphabet;
+
+/**
+ * Подсчет результата попытки без выделения памяти
+ *
+ * Результат упаковывается в одно число в троичной системе: позиция i занимает
+ * разряд 3^i, значение разряда - ABSENT (0), PRESENT (1) или CORRECT (2).
+ * Буквы сравниваются по кодам из RussianAlphabet, поэтому Е и Ё считаются одинаковыми,
+ * а регистр не важен. Использованные буквы загаданного слова хранятся в битовой маске,
+ * так что на каждую попытку не создается ни одного объекта.
+ */
+public final class GuessScorer {
+
+    public static final int ABSENT = 0;
+    public static final int PRESENT = 1;
+    public static final int CORRECT = 2;
+
+    /**
+     * Результат, когда все буквы на своих местах (2 во всех пяти разрядах)
+     */
+    public static final int ALL_CORRECT = 242;
+
+    private static final int[] POWERS_OF_THREE = {1, 3, 9, 27, 81};
+
+    private static final LetterState[] STATES = {LetterState.ABSENT, LetterState.PRESENT, LetterState.CORRECT};
+
+    private GuessScorer() {
+    }
+
+    /**
+     * Оценивает попытку относительно загаданного слова
+     * @return упакованный результат в троичной системе
+     */
+    public static int score(CharSequence guess, CharSequence target) {
+        if (guess.length() != RussianAlphabet.WORD_LENGTH || target.length() != RussianAlphabet.WORD_LENGTH) {
+            throw new IllegalArgumentException("Слово должно содержать ровно 5 букв");
+        }
+
+        int feedback = 0;
+        int correctMask = 0;
+
+        // Первый проход: правильные позиции (зеленые)
+        for (int i = 0; i < RussianAlphabet.WORD_LENGTH; i++) {
+            if (letterKey(guess.charAt(i)) == letterKey(target.charAt(i))) {
+                feedback += CORRECT * POWERS_OF_THREE[i];
+                correctMask |= 1 << i;
+            }
+        }
+        int usedTargetMask = correctMask;
+
+        // Второй проход: буквы на неправильных позициях (желтые), каждая буква загаданного слова используется один раз
+        for (int i = 0; i < RussianAlphabet.WORD_LENGTH; i++) {
+            if ((correctMask & (1 << i)) != 0) {
+                continue;
+            }
+            int guessKey = letterKey(guess.charAt(i));
+            for (int j = 0; j < RussianAlphabet.WORD_LENGTH; j++) {
+                if ((usedTargetMask & (1 << j)) == 0 && letterKey(target.charAt(j)) == guessKey) {
+                    feedback += PRESENT * POWERS_OF_THREE[i];
+                    usedTargetMask |= 1 << j;
+                    break;
+                }
+            }
+        }
+
+        return feedback;
+    }
+
+    /**
+     * Извлекает состояние буквы на позиции из упакованного результата
+     */
+    public static LetterState stateAt(int feedback, int position) {
+        return STATES[(feedback / POWERS_OF_THREE[position]) % 3];
+    }
+
+    /**
+     * Ключ сравнения символа: код русской буквы или сам символ (со смещением) для прочих символов
+     */
+    private static int letterKey(char c) {
+        int code = RussianAlphabet.letterCode(c);
+        return code != RussianAlphabet.NOT_A_LETTER ? code : RussianAlphabet.LETTER_COUNT + c;
+    }
+}
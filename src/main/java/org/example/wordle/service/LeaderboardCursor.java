@@ -0,0 +1,87 @@
+package org.example.wordle.service;
+
+import org.example.wordle.model.DailyStats;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Курсор постраничного чтения рейтинга дня
+ *
+ * Хранит ключ сортировки последнего отданного игрока (попытки, время игры, время завершения,
+ * идентификатор) и его место: следующая страница начинается строго после этого ключа,
+ * поэтому и в памяти, и в БД она читается без OFFSET.
+ * Клиенту курсор передается непрозрачной строкой (Base64 URL).
+ */
+public final class LeaderboardCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final int rank;
+    private final int attempts;
+    private final int gameTimeSeconds;
+    private final LocalDateTime completedAt;
+    private final String playerId;
+
+    private LeaderboardCursor(int rank, int attempts, int gameTimeSeconds, LocalDateTime completedAt, String playerId) {
+        this.rank = rank;
+        this.attempts = attempts;
+        this.gameTimeSeconds = gameTimeSeconds;
+        this.completedAt = completedAt;
+        this.playerId = playerId;
+    }
+
+    /**
+     * Курсор, указывающий на позицию после этого результата
+     */
+    public static LeaderboardCursor after(DailyStats.PlayerResult last) {
+        return new LeaderboardCursor(last.getRank(), last.getAttempts(), last.getGameTimeSeconds(),
+                last.getCompletedAt(), last.getPlayerId());
+    }
+
+    /**
+     * Разобрать курсор из запроса
+     * @throws IllegalArgumentException если строка не является курсором
+     */
+    public static LeaderboardCursor decode(String value) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|", 5);
+            if (parts.length != 5 || parts[3].isEmpty()) {
+                throw new IllegalArgumentException("Некорректный курсор");
+            }
+            return new LeaderboardCursor(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+                    Integer.parseInt(parts[2]), LocalDateTime.parse(parts[3]), parts[4]);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Некорректный курсор", e);
+        }
+    }
+
+    public String encode() {
+        String value = rank + SEPARATOR + attempts + SEPARATOR + gameTimeSeconds + SEPARATOR
+                + completedAt + SEPARATOR + playerId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public int getGameTimeSeconds() {
+        return gameTimeSeconds;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.wordle.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Смена игрового дня в полночь по московскому времени
+ *
+ * В 23:55 все участники готовят данные следующего дня (слово дня, пустые агрегаты статистики),
+ * в 00:00 переключаются на них. Первые запросы нового дня не ждут базу данных и API.
+ */
+@Service
+public class MidnightRolloverScheduler {
+
+    @Autowired
+    private LocalTimeService localTimeService;
+
+    @Autowired
+    private List<DailyRolloverParticipant> participants;
+
+    /**
+     * Подготовка следующего дня
+     */
+    @Scheduled(cron = "0 55 23 * * *", zone = "Europe/Moscow")
+    public void prepareNextDay() {
+        LocalDate nextDate = localTimeService.getCurrentMoscowDate().plusDays(1);
+        System.out.println("🌙 Подготовка данных на " + nextDate);
+
+        for (DailyRolloverParticipant participant : participants) {
+            try {
+                participant.prepareForDate(nextDate);
+            } catch (Exception e) {
+                // Не подготовленные заранее данные будут созданы при первом обращении
+                System.err.println("❌ Ошибка подготовки " + participant.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Переключение на новый день
+     */
+    @Scheduled(cron = "0 0 0 * * *", zone = "Europe/Moscow")
+    public void activateNewDay() {
+        LocalDate today = localTimeService.getCurrentMoscowDate();
+        System.out.println("🌅 Новый игровой день: " + today);
+
+        for (DailyRolloverParticipant participant : participants) {
+            try {
+                participant.activateDate(today);
+            } catch (Exception e) {
+                System.err.println("❌ Ошибка переключения " + participant.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -1,129 +1,363 @@
 package org.example.wordle.service;
 
-import org.example.wordle.model.GameStatsEntity;
 import org.example.wordle.model.PlayerStatsEntity;
 import org.example.wordle.repository.GameStatsRepository;
 import org.example.wordle.repository.PlayerStatsRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Пересборка player_stats из game_stats
+ *
+ * game_stats читается страницами по ключу (player_id, completed_at, id) без OFFSET и без длинной транзакции,
+ * игры каждого игрока сворачиваются в PlayerStatsEntity за один проход. Игроки, чьи игры закончились
+ * на странице, записываются одним JDBC-пакетом в отдельной транзакции вместе с контрольной точкой
+ * (последний записанный player_id) в stats_migration_checkpoints. Прерванная миграция продолжается
+ * с игрока после контрольной точки. В памяти одновременно только одна страница игр.
+ *
+ * Страница читается и записывается в одной транзакции под исключительной advisory-блокировкой записи игр
+ * (PlayerStatsRepository.LOCK_GAME_INGESTION_SQL): пакеты GameStatsRecorder на это время ждут, поэтому
+ * игра не может попасть в БД между чтением игр игрока и перезаписью его статистики. Более поздние игры
+ * идут после ключа страницы и будут прочитаны следующими страницами. Строка контрольной точки блокируется
+ * (FOR UPDATE) и сверяется с ожидаемой: параллельный запуск миграции прерывается.
+ */
 @Service
 public class PlayerStatsMigrationService {
-    
+
+    private static final String MIGRATION_NAME = "player_stats";
+
+    private static final String GAME_COLUMNS = "SELECT id, player_id, game_date, completed_at, attempts, success FROM game_stats ";
+
+    private static final String SELECT_FIRST_PAGE = GAME_COLUMNS +
+            "WHERE player_id > ? ORDER BY player_id, completed_at, id LIMIT ?";
+
+    private static final String SELECT_NEXT_PAGE = GAME_COLUMNS +
+            "WHERE (player_id, completed_at, id) > (?, ?, ?) ORDER BY player_id, completed_at, id LIMIT ?";
+
+    // Значения пересчитываются целиком, поэтому повторная запись игрока (после прерывания) безопасна
+    private static final String REPLACE_PLAYER_STATS_SQL =
+            "INSERT INTO player_stats (player_id, total_games, total_wins, win_rate, current_streak, max_streak, " +
+            "average_attempts, total_attempts, wins_in_1, wins_in_2, wins_in_3, wins_in_4, wins_in_5, wins_in_6, " +
+            "last_game_date, created_at, updated_at) " +
+            "VALUES (:playerId, :totalGames, :totalWins, :winRate, :currentStreak, :maxStreak, :averageAttempts, " +
+            ":totalAttempts, :winsIn1, :winsIn2, :winsIn3, :winsIn4, :winsIn5, :winsIn6, :lastGameDate, :now, :now) " +
+            "ON CONFLICT (player_id) DO UPDATE SET " +
+            "total_games = EXCLUDED.total_games, total_wins = EXCLUDED.total_wins, win_rate = EXCLUDED.win_rate, " +
+            "current_streak = EXCLUDED.current_streak, max_streak = EXCLUDED.max_streak, " +
+            "average_attempts = EXCLUDED.average_attempts, total_attempts = EXCLUDED.total_attempts, " +
+            "wins_in_1 = EXCLUDED.wins_in_1, wins_in_2 = EXCLUDED.wins_in_2, wins_in_3 = EXCLUDED.wins_in_3, " +
+            "wins_in_4 = EXCLUDED.wins_in_4, wins_in_5 = EXCLUDED.wins_in_5, wins_in_6 = EXCLUDED.wins_in_6, " +
+            "last_game_date = EXCLUDED.last_game_date, updated_at = EXCLUDED.updated_at";
+
+    private static final String SELECT_CHECKPOINT_SQL = "SELECT last_player_id, games_processed, players_written, completed " +
+            "FROM stats_migration_checkpoints WHERE name = ?";
+
+    private static final String LOCK_CHECKPOINT_SQL = SELECT_CHECKPOINT_SQL + " FOR UPDATE";
+
+    private static final String SAVE_CHECKPOINT_SQL = "INSERT INTO stats_migration_checkpoints " +
+            "(name, last_player_id, games_processed, players_written, completed, updated_at) VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (name) DO UPDATE SET last_player_id = EXCLUDED.last_player_id, " +
+            "games_processed = EXCLUDED.games_processed, players_written = EXCLUDED.players_written, " +
+            "completed = EXCLUDED.completed, updated_at = EXCLUDED.updated_at";
+
     @Autowired
     private GameStatsRepository gameStatsRepository;
-    
+
     @Autowired
     private PlayerStatsRepository playerStatsRepository;
-    
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Размер страницы game_stats (и, примерно, пакета записи player_stats)
+    @Value("${stats.migration.chunk-size:5000}")
+    private int chunkSize = 5000;
+
+    // Миграция, выполняемая в этом процессе (в других процессах ее отсекает проверка контрольной точки)
+    private final AtomicBoolean running = new AtomicBoolean();
+
     /**
-     * Мигрирует данные из game_stats в player_stats
+     * Мигрирует данные из game_stats в player_stats (продолжает прерванную миграцию с контрольной точки)
+     * @throws IllegalStateException если миграция уже выполняется
      */
-    @Transactional
     public void migratePlayerStats() {
-        System.out.println("🔄 Начинаем миграцию персональной статистики...");
-        
-        // Получаем всех игроков, которые играли
-        List<GameStatsEntity> allGames = gameStatsRepository.findAll();
-        Map<String, List<GameStatsEntity>> gamesByPlayer = allGames.stream()
-                .collect(Collectors.groupingBy(GameStatsEntity::getPlayerId));
-        
-        System.out.println("📊 Найдено игроков: " + gamesByPlayer.size());
-        
-        int migratedCount = 0;
-        
-        for (Map.Entry<String, List<GameStatsEntity>> entry : gamesByPlayer.entrySet()) {
-            String playerId = entry.getKey();
-            List<GameStatsEntity> playerGames = entry.getValue();
-            
-            // Сортируем игры по дате
-            playerGames.sort((a, b) -> a.getGameDate().compareTo(b.getGameDate()));
-            
-            // Создаем или обновляем статистику игрока
-            PlayerStatsEntity playerStats = createOrUpdatePlayerStats(playerId, playerGames);
-            playerStatsRepository.save(playerStats);
-            
-            migratedCount++;
-            System.out.println("✅ Мигрирована статистика для игрока " + playerId + 
-                             " (игр: " + playerGames.size() + ")");
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Миграция персональной статистики уже выполняется");
+        }
+        try {
+            migrate();
+        } finally {
+            running.set(false);
         }
-        
-        System.out.println("🎉 Миграция завершена! Обработано игроков: " + migratedCount);
     }
-    
+
+    private void migrate() {
+        Checkpoint stored = loadCheckpoint();
+        MigrationRun run = new MigrationRun(stored);
+        if (run.checkpoint.lastPlayerId.isEmpty()) {
+            System.out.println("🔄 Начинаем миграцию персональной статистики...");
+        } else {
+            System.out.println("🔄 Продолжаем миграцию персональной статистики после игрока " + run.checkpoint.lastPlayerId +
+                    " (уже записано игроков: " + run.checkpoint.playersWritten + ")");
+        }
+
+        NamedParameterJdbcTemplate namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        boolean lastPage = false;
+        while (!lastPage) {
+            lastPage = Boolean.TRUE.equals(transactionTemplate.execute(status -> run.nextPage(namedJdbcTemplate)));
+        }
+
+        System.out.println("🎉 Миграция завершена! Обработано игроков: " + run.playersWritten + ", игр: " + run.gamesWritten +
+                " за " + TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - run.startedAt) + " с");
+    }
+
     /**
-     * Создает или обновляет статистику игрока на основе его игр
+     * Состояние одного запуска миграции между страницами
      */
-    private PlayerStatsEntity createOrUpdatePlayerStats(String playerId, List<GameStatsEntity> games) {
-        PlayerStatsEntity stats = new PlayerStatsEntity(playerId);
-        
-        // Подсчитываем общую статистику
-        int totalGames = games.size();
-        int totalWins = (int) games.stream().filter(GameStatsEntity::isSuccess).count();
-        int totalAttempts = games.stream().mapToInt(GameStatsEntity::getAttempts).sum();
-        
-        // Рассчитываем процент побед
-        BigDecimal winRate = totalGames > 0 ? 
-            BigDecimal.valueOf(totalWins)
-                .multiply(BigDecimal.valueOf(100))
-                .divide(BigDecimal.valueOf(totalGames), 2, RoundingMode.HALF_UP) :
-            BigDecimal.ZERO;
-        
-        // Рассчитываем среднее количество попыток
-        BigDecimal averageAttempts = totalGames > 0 ?
-            BigDecimal.valueOf(totalAttempts)
-                .divide(BigDecimal.valueOf(totalGames), 2, RoundingMode.HALF_UP) :
-            BigDecimal.ZERO;
-        
-        // Рассчитываем стрики
-        int currentStreak = 0;
-        int maxStreak = 0;
-        LocalDate lastGameDate = null;
-        
-        for (GameStatsEntity game : games) {
-            if (game.isSuccess()) {
-                // При выигрыше увеличиваем стрик (независимо от пропусков дней)
-                currentStreak++;
-                
-                if (currentStreak > maxStreak) {
-                    maxStreak = currentStreak;
+    private final class MigrationRun {
+        private final long startedAt = System.nanoTime();
+
+        // Контрольная точка, которая должна быть в БД перед следующей страницей
+        private Checkpoint expected;
+        // Контрольная точка, с которой продолжается чтение
+        private Checkpoint checkpoint;
+
+        private long gamesRead;
+        private long gamesWritten;
+        private long playersWritten;
+
+        private PlayerStatsEntity current;
+        private GameRow last;
+
+        private MigrationRun(Checkpoint stored) {
+            this.expected = stored;
+            // Предыдущая миграция завершена - пересобираем заново
+            this.checkpoint = stored.completed ? new Checkpoint("", 0, 0, false) : stored;
+            this.gamesWritten = checkpoint.gamesProcessed;
+            this.playersWritten = checkpoint.playersWritten;
+        }
+
+        /**
+         * Прочитать и записать одну страницу (в транзакции вызывающего)
+         * @return true, если это последняя страница
+         */
+        private boolean nextPage(NamedParameterJdbcTemplate namedJdbcTemplate) {
+            // Пакеты GameStatsRecorder ждут до конца транзакции, поэтому чтение страницы (новый снимок
+            // в READ COMMITTED) видит все уже зафиксированные игры, а новые появятся только после записи
+            jdbcTemplate.execute(PlayerStatsRepository.LOCK_GAME_INGESTION_SQL);
+            if (!lockCheckpoint().sameProgress(expected)) {
+                throw new IllegalStateException("Миграция персональной статистики уже выполняется в другом процессе");
+            }
+
+            List<GameRow> page = last == null
+                    ? jdbcTemplate.query(SELECT_FIRST_PAGE, GameRow::map, checkpoint.lastPlayerId, chunkSize)
+                    : jdbcTemplate.query(SELECT_NEXT_PAGE, GameRow::map, last.playerId,
+                        Timestamp.valueOf(last.completedAt), last.id, chunkSize);
+
+            List<PlayerStatsEntity> finished = new ArrayList<>();
+            for (GameRow game : page) {
+                if (current == null || !current.getPlayerId().equals(game.playerId)) {
+                    if (current != null) {
+                        finished.add(current);
+                    }
+                    current = new PlayerStatsEntity(game.playerId);
+                }
+                foldGame(current, game);
+            }
+            gamesRead += page.size();
+
+            boolean lastPage = page.size() < chunkSize;
+            if (lastPage && current != null) {
+                finished.add(current);
+            }
+            if (!page.isEmpty()) {
+                last = page.get(page.size() - 1);
+            }
+
+            if (!finished.isEmpty() || lastPage) {
+                for (PlayerStatsEntity stats : finished) {
+                    gamesWritten += stats.getTotalGames();
                 }
-            } else {
-                // При проигрыше обнуляем стрик
-                currentStreak = 0;
+                playersWritten += finished.size();
+                String lastPlayerId = finished.isEmpty() ? checkpoint.lastPlayerId
+                        : finished.get(finished.size() - 1).getPlayerId();
+                Checkpoint next = new Checkpoint(lastPlayerId, gamesWritten, playersWritten, lastPage);
+
+                // Игроки страницы и контрольная точка фиксируются вместе
+                writePlayerStats(namedJdbcTemplate, finished);
+                saveCheckpoint(next);
+                checkpoint = next;
+                expected = next;
+
+                System.out.println("📈 Миграция: записано игроков " + playersWritten + ", прочитано игр " + gamesRead +
+                        " (" + throughput(gamesRead, startedAt) + " игр/с)");
             }
-            
-            lastGameDate = game.getGameDate();
+            return lastPage;
         }
-        
-        // Устанавливаем значения
-        stats.setTotalGames(totalGames);
-        stats.setTotalWins(totalWins);
-        stats.setWinRate(winRate);
-        stats.setCurrentStreak(currentStreak);
-        stats.setMaxStreak(maxStreak);
-        stats.setAverageAttempts(averageAttempts);
-        stats.setLastGameDate(lastGameDate);
-        
-        return stats;
     }
-    
+
+    /**
+     * Учитывает очередную игру игрока (игры идут в порядке завершения)
+     */
+    private static void foldGame(PlayerStatsEntity stats, GameRow game) {
+        // Счетчики, суммы, процент побед и среднее
+        stats.addGame(game.attempts, game.success);
+
+        if (game.success) {
+            // При выигрыше увеличиваем стрик (независимо от пропусков дней)
+            stats.setCurrentStreak(stats.getCurrentStreak() + 1);
+            if (stats.getCurrentStreak() > stats.getMaxStreak()) {
+                stats.setMaxStreak(stats.getCurrentStreak());
+            }
+        } else {
+            // При проигрыше обнуляем стрик
+            stats.setCurrentStreak(0);
+        }
+        stats.setLastGameDate(game.gameDate);
+    }
+
+    private static void writePlayerStats(NamedParameterJdbcTemplate namedJdbcTemplate, List<PlayerStatsEntity> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        SqlParameterSource[] batch = new SqlParameterSource[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            PlayerStatsEntity stats = chunk.get(i);
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("playerId", stats.getPlayerId())
+                    .addValue("totalGames", stats.getTotalGames())
+                    .addValue("totalWins", stats.getTotalWins())
+                    .addValue("winRate", stats.getWinRate())
+                    .addValue("currentStreak", stats.getCurrentStreak())
+                    .addValue("maxStreak", stats.getMaxStreak())
+                    .addValue("averageAttempts", stats.getAverageAttempts())
+                    .addValue("totalAttempts", stats.getTotalAttempts())
+                    .addValue("winsIn1", stats.getWinsIn1())
+                    .addValue("winsIn2", stats.getWinsIn2())
+                    .addValue("winsIn3", stats.getWinsIn3())
+                    .addValue("winsIn4", stats.getWinsIn4())
+                    .addValue("winsIn5", stats.getWinsIn5())
+                    .addValue("winsIn6", stats.getWinsIn6())
+                    .addValue("lastGameDate", stats.getLastGameDate())
+                    .addValue("now", now);
+        }
+        namedJdbcTemplate.batchUpdate(REPLACE_PLAYER_STATS_SQL, batch);
+    }
+
+    private static long throughput(long games, long startedAt) {
+        long elapsedNanos = Math.max(1, System.nanoTime() - startedAt);
+        return games * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    private Checkpoint loadCheckpoint() {
+        return queryCheckpoint(SELECT_CHECKPOINT_SQL);
+    }
+
+    /**
+     * Прочитать контрольную точку с блокировкой строки до конца транзакции
+     */
+    private Checkpoint lockCheckpoint() {
+        return queryCheckpoint(LOCK_CHECKPOINT_SQL);
+    }
+
+    private Checkpoint queryCheckpoint(String sql) {
+        List<Checkpoint> rows = jdbcTemplate.query(sql, (rs, rowNum) -> new Checkpoint(
+                rs.getString("last_player_id"), rs.getLong("games_processed"), rs.getLong("players_written"),
+                rs.getBoolean("completed")), MIGRATION_NAME);
+        return rows.isEmpty() ? new Checkpoint("", 0, 0, false) : rows.get(0);
+    }
+
+    private void saveCheckpoint(Checkpoint checkpoint) {
+        jdbcTemplate.update(SAVE_CHECKPOINT_SQL, MIGRATION_NAME, checkpoint.lastPlayerId, checkpoint.gamesProcessed,
+                checkpoint.playersWritten, checkpoint.completed, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
     /**
      * Проверяет, нужна ли миграция
      */
     public boolean needsMigration() {
+        // Прерванную миграцию нужно продолжить
+        Checkpoint checkpoint = loadCheckpoint();
+        if (!checkpoint.lastPlayerId.isEmpty() && !checkpoint.completed) {
+            return true;
+        }
+
         long playerStatsCount = playerStatsRepository.count();
         long gameStatsCount = gameStatsRepository.count();
-        
+
         // Если в player_stats нет записей, а в game_stats есть - нужна миграция
         return playerStatsCount == 0 && gameStatsCount > 0;
     }
+
+    /**
+     * Строка game_stats с полями, нужными для свертки
+     */
+    private static final class GameRow {
+        private final long id;
+        private final String playerId;
+        private final LocalDate gameDate;
+        private final LocalDateTime completedAt;
+        private final int attempts;
+        private final boolean success;
+
+        private GameRow(long id, String playerId, LocalDate gameDate, LocalDateTime completedAt, int attempts,
+                        boolean success) {
+            this.id = id;
+            this.playerId = playerId;
+            this.gameDate = gameDate;
+            this.completedAt = completedAt;
+            this.attempts = attempts;
+            this.success = success;
+        }
+
+        private static GameRow map(ResultSet rs, int rowNum) throws SQLException {
+            return new GameRow(rs.getLong("id"), rs.getString("player_id"), rs.getDate("game_date").toLocalDate(),
+                    rs.getTimestamp("completed_at").toLocalDateTime(), rs.getInt("attempts"), rs.getBoolean("success"));
+        }
+    }
+
+    /**
+     * Прогресс миграции: последний полностью записанный игрок и счетчики
+     */
+    private static final class Checkpoint {
+        private final String lastPlayerId;
+        private final long gamesProcessed;
+        private final long playersWritten;
+        private final boolean completed;
+
+        private Checkpoint(String lastPlayerId, long gamesProcessed, long playersWritten, boolean completed) {
+            this.lastPlayerId = lastPlayerId;
+            this.gamesProcessed = gamesProcessed;
+            this.playersWritten = playersWritten;
+            this.completed = completed;
+        }
+
+        private boolean sameProgress(Checkpoint other) {
+            return lastPlayerId.equals(other.lastPlayerId) && gamesProcessed == other.gamesProcessed
+                    && playersWritten == other.playersWritten && completed == other.completed;
+        }
+    }
 }
@@ -5,12 +5,12 @@ import org.example.wordle.model.PlayerStatsEntity;
 import org.example.wordle.repository.GameStatsRepository;
 import org.example.wordle.repository.PlayerStatsRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,8 +23,12 @@ public class PlayerStatsService {
     @Autowired
     private GameStatsRepository gameStatsRepository;
     
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
     /**
      * Получить или создать статистику игрока
+     * Создание идет через INSERT ... ON CONFLICT DO NOTHING, поэтому параллельные запросы не дают дубликатов
      */
     public PlayerStatsEntity getOrCreatePlayerStats(String playerId) {
         Optional<PlayerStatsEntity> existingStats = playerStatsRepository.findByPlayerId(playerId);
@@ -32,87 +36,33 @@ public class PlayerStatsService {
             return existingStats.get();
         }
         
-        // Создаем новую запись статистики
-        PlayerStatsEntity newStats = new PlayerStatsEntity(playerId);
-        return playerStatsRepository.save(newStats);
-    }
-    
-    /**
-     * Обновить статистику игрока после завершения игры
-     */
-    @Transactional
-    public void updatePlayerStats(String playerId, boolean won, int attempts, LocalDate gameDate) {
-        PlayerStatsEntity stats = getOrCreatePlayerStats(playerId);
-        
-        // Обновляем общие счетчики
-        stats.setTotalGames(stats.getTotalGames() + 1);
-        if (won) {
-            stats.setTotalWins(stats.getTotalWins() + 1);
-        }
-        
-        // Пересчитываем процент побед
-        BigDecimal winRate = BigDecimal.valueOf(stats.getTotalWins())
-                .multiply(BigDecimal.valueOf(100))
-                .divide(BigDecimal.valueOf(stats.getTotalGames()), 2, RoundingMode.HALF_UP);
-        stats.setWinRate(winRate);
-        
-        // Обновляем стрик
-        updateStreak(stats, won, gameDate);
-        
-        // Пересчитываем среднее количество попыток
-        recalculateAverageAttempts(stats);
-        
-        // Обновляем дату последней игры
-        stats.setLastGameDate(gameDate);
-        
-        playerStatsRepository.save(stats);
-    }
-    
-    /**
-     * Обновить стрик игрока
-     * Стрик обнуляется только при проигрыше, а не при пропуске дней
-     */
-    private void updateStreak(PlayerStatsEntity stats, boolean won, LocalDate gameDate) {
-        if (won) {
-            // При выигрыше увеличиваем стрик
-            stats.setCurrentStreak(stats.getCurrentStreak() + 1);
-            
-            // Обновляем максимальный стрик
-            if (stats.getCurrentStreak() > stats.getMaxStreak()) {
-                stats.setMaxStreak(stats.getCurrentStreak());
-            }
-        } else {
-            // При проигрыше обнуляем стрик
-            stats.setCurrentStreak(0);
-        }
+        playerStatsRepository.insertIfAbsent(playerId, LocalDateTime.now());
+        return playerStatsRepository.findByPlayerId(playerId)
+                .orElseGet(() -> new PlayerStatsEntity(playerId));
     }
     
     /**
-     * Пересчитать среднее количество попыток
+     * Получить статистику игрока
      */
-    private void recalculateAverageAttempts(PlayerStatsEntity stats) {
-        List<GameStatsEntity> playerGames = gameStatsRepository.findByPlayerIdOrderByCompletedAtAsc(stats.getPlayerId());
-        
-        if (playerGames.isEmpty()) {
-            stats.setAverageAttempts(BigDecimal.ZERO);
-            return;
-        }
-        
-        int totalAttempts = playerGames.stream()
-                .mapToInt(GameStatsEntity::getAttempts)
-                .sum();
-        
-        BigDecimal averageAttempts = BigDecimal.valueOf(totalAttempts)
-                .divide(BigDecimal.valueOf(playerGames.size()), 2, RoundingMode.HALF_UP);
-        
-        stats.setAverageAttempts(averageAttempts);
+    public PlayerStatsEntity getPlayerStats(String playerId) {
+        return getOrCreatePlayerStats(playerId);
     }
     
     /**
-     * Получить статистику игрока
+     * Пересчитать статистику всех игроков одним запросом в БД (после исправления данных в game_stats)
+     * В отличие от recalculatePlayerStats не читает игры в приложение.
+     * На время пересчета запись новых игр (пакеты GameStatsRecorder) ждет исключительной advisory-блокировки:
+     * иначе игра, зафиксированная после снимка запроса, была бы затерта его результатом
+     * @return количество пересчитанных игроков
      */
-    public PlayerStatsEntity getPlayerStats(String playerId) {
-        return getOrCreatePlayerStats(playerId);
+    @Transactional
+    public int recalculateAllPlayerStats() {
+        long startedAt = System.nanoTime();
+        jdbcTemplate.execute(PlayerStatsRepository.LOCK_GAME_INGESTION_SQL);
+        int players = playerStatsRepository.recalculateAll(LocalDateTime.now());
+        System.out.println("🔄 Статистика пересчитана для " + players + " игроков за " +
+            (System.nanoTime() - startedAt) / 1_000_000 + " мс");
+        return players;
     }
     
     /**
@@ -128,27 +78,17 @@ public class PlayerStatsService {
         
         PlayerStatsEntity stats = getOrCreatePlayerStats(playerId);
         
-        // Сбрасываем статистику
-        stats.setTotalGames(0);
-        stats.setTotalWins(0);
-        stats.setCurrentStreak(0);
-        stats.setMaxStreak(0);
-        stats.setAverageAttempts(BigDecimal.ZERO);
-        stats.setLastGameDate(null);
+        // Полный пересчет: сбрасываем накопленные значения и проходим все игры
+        stats.resetTotals();
         
-        // Пересчитываем на основе всех игр
         int currentStreak = 0;
         int maxStreak = 0;
-        int totalAttempts = 0;
         LocalDate lastGameDate = null;
         
         for (GameStatsEntity game : playerGames) {
-            stats.setTotalGames(stats.getTotalGames() + 1);
-            totalAttempts += game.getAttempts();
+            stats.addGame(game.getAttempts(), game.isSuccess());
             
             if (game.isSuccess()) {
-                stats.setTotalWins(stats.getTotalWins() + 1);
-                
                 // При выигрыше увеличиваем стрик (независимо от пропусков дней)
                 currentStreak++;
                 
@@ -168,21 +108,6 @@ public class PlayerStatsService {
         stats.setMaxStreak(maxStreak);
         stats.setLastGameDate(lastGameDate);
         
-        // Пересчитываем процент побед
-        if (stats.getTotalGames() > 0) {
-            BigDecimal winRate = BigDecimal.valueOf(stats.getTotalWins())
-                    .multiply(BigDecimal.valueOf(100))
-                    .divide(BigDecimal.valueOf(stats.getTotalGames()), 2, RoundingMode.HALF_UP);
-            stats.setWinRate(winRate);
-        }
-        
-        // Пересчитываем среднее количество попыток
-        if (stats.getTotalGames() > 0) {
-            BigDecimal averageAttempts = BigDecimal.valueOf(totalAttempts)
-                    .divide(BigDecimal.valueOf(stats.getTotalGames()), 2, RoundingMode.HALF_UP);
-            stats.setAverageAttempts(averageAttempts);
-        }
-        
         playerStatsRepository.save(stats);
     }
 }
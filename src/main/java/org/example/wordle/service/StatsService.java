@@ -1,40 +1,111 @@
 package org.example.wordle.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.example.wordle.model.DailyStats;
 import org.example.wordle.model.GameStats;
 import org.example.wordle.model.GameStatsEntity;
+import org.example.wordle.repository.AttemptsCount;
+import org.example.wordle.repository.DailyTotals;
 import org.example.wordle.repository.GameStatsRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PostConstruct;
+
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Сервис для сбора и анализа статистики игр
  */
 @Service
-public class StatsService {
+public class StatsService implements DailyRolloverParticipant {
+    
+    // Сколько обнуление статистики ждет записи уже принятых игр
+    private static final long RESET_FLUSH_TIMEOUT_MS = 30_000;
+    
+    private final GameStatsRepository gameStatsRepository;
+    private final LocalTimeService localTimeService;
+    private final DailyGameValidationService dailyGameValidationService;
+    private final GameStatsRecorder gameStatsRecorder;
+    
+    // Размер страницы рейтинга по умолчанию и максимальный размер, который может запросить клиент
+    private final int defaultTopLimit;
+    private final int maxTopLimit;
     
-    @Autowired
-    private GameStatsRepository gameStatsRepository;
+    // Время записи игры (принята / отклонена), построения статистики дня (из памяти / из БД) и за период
+    private final Timer recordedTimer;
+    private final Timer rejectedTimer;
+    private final Timer dailyFromMemoryTimer;
+    private final Timer dailyFromDatabaseTimer;
+    private final Timer recentTimer;
     
-    @Autowired
-    private LocalTimeService localTimeService;
+    // Статистика текущих дней в памяти: собирается из БД при старте, пустая - перед полуночью,
+    // дальше обновляется в recordGameStats. Дни без агрегата читаются из БД
+    private final ConcurrentMap<LocalDate, DailyStatsAggregate> dailyAggregates = new ConcurrentHashMap<>();
     
-    @Autowired
-    private DailyGameValidationService dailyGameValidationService;
+    // Прием игр (чтение) и обнуление статистики дня (запись): пока обнуление ждет записи уже принятых игр
+    // и удаляет строки, новые игры не принимаются, иначе они попали бы в БД после удаления
+    private final ReadWriteLock submissionLock = new ReentrantReadWriteLock();
     
-    @Autowired
-    private PlayerStatsService playerStatsService;
+    public StatsService(GameStatsRepository gameStatsRepository,
+                        LocalTimeService localTimeService,
+                        DailyGameValidationService dailyGameValidationService,
+                        GameStatsRecorder gameStatsRecorder,
+                        @Value("${stats.top-players.default-limit:10}") int defaultTopLimit,
+                        @Value("${stats.top-players.max-limit:100}") int maxTopLimit,
+                        MeterRegistry meterRegistry) {
+        this.gameStatsRepository = gameStatsRepository;
+        this.localTimeService = localTimeService;
+        this.dailyGameValidationService = dailyGameValidationService;
+        this.gameStatsRecorder = gameStatsRecorder;
+        this.defaultTopLimit = defaultTopLimit;
+        this.maxTopLimit = maxTopLimit;
+        this.recordedTimer = meterRegistry.timer("wordle.stats.record", "result", "recorded");
+        this.rejectedTimer = meterRegistry.timer("wordle.stats.record", "result", "rejected");
+        this.dailyFromMemoryTimer = meterRegistry.timer("wordle.stats.daily", "source", "memory");
+        this.dailyFromDatabaseTimer = meterRegistry.timer("wordle.stats.daily", "source", "database");
+        this.recentTimer = meterRegistry.timer("wordle.stats.recent");
+    }
     
     /**
-     * Записывает статистику завершенной игры в базу данных
+     * Загрузка статистики сегодняшнего дня в память при старте
+     */
+    @PostConstruct
+    public void loadTodayAggregate() {
+        LocalDate today = localTimeService.getCurrentMoscowDate();
+        try {
+            DailyStatsAggregate aggregate = loadAggregate(today);
+            dailyAggregates.put(today, aggregate);
+            System.out.println("📊 Статистика на " + today + " загружена в память: " + aggregate.getTotalPlayers() + " игр");
+        } catch (Exception e) {
+            System.err.println("❌ Не удалось загрузить статистику дня в память: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Записывает статистику завершенной игры (в БД - отложенно, через GameStatsRecorder)
      * Проверяет, что игрок еще не играл сегодня в режиме дня
      */
     public boolean recordGameStats(LocalDate gameDate, int attempts, String playerId, String targetWord, int gameTimeSeconds) {
+        Timer.Sample sample = Timer.start();
+        boolean recorded = false;
+        try {
+            recorded = tryRecordGameStats(gameDate, attempts, playerId, targetWord, gameTimeSeconds);
+            return recorded;
+        } finally {
+            sample.stop(recorded ? recordedTimer : rejectedTimer);
+        }
+    }
+    
+    private boolean tryRecordGameStats(LocalDate gameDate, int attempts, String playerId, String targetWord, int gameTimeSeconds) {
         // Проверяем, что игрок еще не играл сегодня
         if (!dailyGameValidationService.canPlayerPlayToday(playerId)) {
             System.out.println("❌ Игрок " + playerId + " уже играл сегодня, статистика не записывается");
@@ -56,80 +127,82 @@ public class StatsService {
         GameStats gameStats = new GameStats(gameDate, attempts, localTimeService.getCurrentMoscowDateTime(), playerId,
                 targetWord, gameTimeSeconds);
         
-        GameStatsEntity entity = new GameStatsEntity(gameStats);
-        gameStatsRepository.save(entity);
-        
-        // Обновляем персональную статистику игрока
+        // Индекс сыгравших атомарно отсекает параллельный повтор, сама запись в БД (и персональная статистика)
+        // выполняется пакетами в GameStatsRecorder. Если игру не удалось записать в журнал, отметка снимается
+        submissionLock.readLock().lock();
         try {
-            boolean won = attempts <= 6; // Считаем победой, если угадал за 6 попыток или меньше
-            playerStatsService.updatePlayerStats(playerId, won, attempts, gameDate);
-            System.out.println("✅ Персональная статистика обновлена для игрока: " + playerId);
-        } catch (Exception e) {
-            System.err.println("❌ Ошибка обновления персональной статистики: " + e.getMessage());
-            // Не прерываем выполнение, так как основная статистика уже сохранена
+            if (!dailyGameValidationService.markPlayed(gameStats)) {
+                System.out.println("❌ Игра игрока " + playerId + " за " + gameDate + " уже записана, повтор отклонен");
+                return false;
+            }
+            
+            try {
+                gameStatsRecorder.submit(gameStats);
+            } catch (RuntimeException e) {
+                dailyGameValidationService.unmarkPlayed(gameStats);
+                System.err.println("❌ Игра игрока " + playerId + " не принята к записи: " + e.getMessage());
+                throw e;
+            }
+            
+            // Агрегат дня показывает результат в рейтинге только после того, как игра принята
+            DailyStatsAggregate aggregate = dailyAggregates.get(gameDate);
+            if (aggregate != null) {
+                aggregate.record(new GameStatsEntity(gameStats));
+            }
+        } finally {
+            submissionLock.readLock().unlock();
         }
         
-        System.out.println("✅ Статистика успешно записана в БД: " + gameStats);
+        System.out.println("✅ Статистика принята к записи: " + gameStats);
         return true;
     }
     
     /**
-     * Получает статистику дня из базы данных (по московскому времени)
+     * Получает статистику дня с первой страницей рейтинга по умолчанию (по московскому времени)
      */
     public DailyStats getDailyStats(LocalDate date) {
-        List<GameStatsEntity> dayStats = gameStatsRepository.findByGameDateOrderByAttemptsAscGameTimeSecondsAsc(date);
-        
-        if (dayStats.isEmpty()) {
-            return new DailyStats(date, "", 0, 0, 0.0, new HashMap<>(), new ArrayList<>(), null);
+        return getDailyStats(date, defaultTopLimit, null);
+    }
+    
+    /**
+     * Получает статистику дня со страницей рейтинга: не больше limit игроков после курсора
+     * (null - с начала рейтинга). Лимит ограничивается stats.top-players.max-limit
+     */
+    public DailyStats getDailyStats(LocalDate date, int limit, String cursor) {
+        Timer.Sample sample = Timer.start();
+        Timer timer = dailyAggregates.containsKey(date) ? dailyFromMemoryTimer : dailyFromDatabaseTimer;
+        try {
+            return buildDailyStatsPage(date, limit, cursor);
+        } finally {
+            sample.stop(timer);
         }
+    }
+    
+    private DailyStats buildDailyStatsPage(LocalDate date, int limit, String cursor) {
+        int pageSize = normalizeLimit(limit);
+        LeaderboardCursor leaderboardCursor = cursor != null && !cursor.isBlank() ? LeaderboardCursor.decode(cursor) : null;
         
-        // Получаем слово дня из первой записи
-        String targetWord = dayStats.get(0).getTargetWord();
-        
-        // Подсчитываем общую статистику
-        int totalPlayers = dayStats.size();
-        int successfulPlayers = (int) dayStats.stream()
-            .filter(GameStatsEntity::isSuccess)
-            .count();
-        
-        double successRate = totalPlayers > 0 ? (double) successfulPlayers / totalPlayers * 100 : 0.0;
-        
-        // Распределение по попыткам
-        Map<Integer, Integer> attemptsDistribution = dayStats.stream()
-            .filter(GameStatsEntity::isSuccess)
-            .collect(Collectors.groupingBy(
-                GameStatsEntity::getAttempts,
-                Collectors.collectingAndThen(Collectors.counting(), Math::toIntExact)
-            ));
-        
-        // Топ игроков (уже отсортированы в запросе)
-        List<DailyStats.PlayerResult> topPlayers = dayStats.stream()
-            .filter(GameStatsEntity::isSuccess)
-            .map(stats -> new DailyStats.PlayerResult(
-                stats.getPlayerId(),
-                stats.getAttempts(),
-                stats.getCompletedAt(),
-                0, // Ранг будет установлен ниже
-                true,
-                stats.getGameTimeSeconds()
-            ))
-            .collect(Collectors.toList());
+        DailyStatsAggregate aggregate = dailyAggregates.get(date);
+        if (aggregate != null) {
+            return aggregate.toDailyStats(pageSize, leaderboardCursor);
+        }
         
-        // Устанавливаем ранги
-        for (int i = 0; i < topPlayers.size(); i++) {
-            topPlayers.get(i).setRank(i + 1);
+        // Итоги и распределение считает БД, из строк читается только страница рейтинга
+        List<DailyTotals> totals = gameStatsRepository.summarizeDays(date, date);
+        if (totals.isEmpty()) {
+            return emptyDailyStats(date);
         }
         
-        return new DailyStats(
-            date,
-            targetWord,
-            totalPlayers,
-            successfulPlayers,
-            successRate,
-            attemptsDistribution,
-            topPlayers,
-            null
-        );
+        // Берем на одну запись больше, чтобы понять, есть ли следующая страница
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<GameStatsEntity> rows = leaderboardCursor == null
+            ? gameStatsRepository.findTopSuccessful(date, page)
+            : gameStatsRepository.findSuccessfulAfter(date, leaderboardCursor.getAttempts(),
+                leaderboardCursor.getGameTimeSeconds(), leaderboardCursor.getCompletedAt(),
+                leaderboardCursor.getPlayerId(), page);
+        
+        return buildDailyStats(date, totals.get(0), gameStatsRepository.countSuccessfulByAttempts(date, date),
+            rows, pageSize, leaderboardCursor == null ? 0 : leaderboardCursor.getRank());
     }
     
     /**
@@ -137,46 +210,150 @@ public class StatsService {
      */
     public DailyStats getDailyStatsWithPlayerResult(LocalDate date, String playerId) {
         DailyStats dailyStats = getDailyStats(date);
+        dailyStats.setPlayerResult(getPlayerResult(date, playerId));
+        return dailyStats;
+    }
+    
+    /**
+     * Получает результат игрока за день с местом в рейтинге
+     * Для дней в памяти место считается по индексу рейтинга, иначе - одним COUNT в БД
+     */
+    public DailyStats.PlayerResult getPlayerResult(LocalDate date, String playerId) {
+        // Результат игрока берется из индекса сыгравших, место - из рейтинга агрегата
+        DailyStatsAggregate aggregate = dailyAggregates.get(date);
+        DailyPlayedIndex played = dailyGameValidationService.getPlayedIndex(date);
+        if (aggregate != null && played != null) {
+            return aggregate.getPlayerResult(playerId, played.getResult(playerId));
+        }
         
-        // Находим результат конкретного игрока
-        Optional<DailyStats.PlayerResult> playerResult = dailyStats.getTopPlayers().stream()
-            .filter(result -> result.getPlayerId().equals(playerId))
-            .findFirst();
-        
-        if (playerResult.isPresent()) {
-            dailyStats.setPlayerResult(playerResult.get());
-        } else {
+        GameStatsEntity game = gameStatsRepository.findByGameDateAndPlayerId(date, playerId);
+        if (game == null || !game.isSuccess()) {
             // Игрок не угадал или не играл
-            dailyStats.setPlayerResult(new DailyStats.PlayerResult(
-                playerId, 0, null, 0, false, 0
-            ));
+            return new DailyStats.PlayerResult(playerId, 0, null, 0, false, 0);
         }
         
-        return dailyStats;
+        long before = gameStatsRepository.countSuccessfulBefore(date, game.getAttempts(), game.getGameTimeSeconds(),
+            game.getCompletedAt(), game.getPlayerId());
+        return new DailyStats.PlayerResult(game.getPlayerId(), game.getAttempts(), game.getCompletedAt(),
+            Math.toIntExact(before + 1), true, game.getGameTimeSeconds());
     }
     
     /**
-     * Получает статистику за последние N дней
+     * Получает статистику за последние N дней (рейтинг каждого дня - первая страница по умолчанию)
      */
     public List<DailyStats> getRecentStats(int days) {
+        return getRecentStats(days, defaultTopLimit);
+    }
+    
+    /**
+     * Получает статистику за последние N дней, рейтинг каждого дня ограничен limit игроками
+     */
+    public List<DailyStats> getRecentStats(int days, int limit) {
+        return recentTimer.record(() -> collectRecentStats(days, limit));
+    }
+    
+    private List<DailyStats> collectRecentStats(int days, int limit) {
+        int pageSize = normalizeLimit(limit);
         LocalDate endDate = localTimeService.getCurrentMoscowDate();
         LocalDate startDate = endDate.minusDays(days - 1);
         
-        List<GameStatsEntity> recentStats = gameStatsRepository.findByGameDateBetween(startDate, endDate);
+        // Последние дни обычно есть в памяти, из БД читаем только более ранние
+        LocalDate databaseEndDate = endDate;
+        while (!databaseEndDate.isBefore(startDate) && dailyAggregates.containsKey(databaseEndDate)) {
+            databaseEndDate = databaseEndDate.minusDays(1);
+        }
         
-        // Группируем по дням
-        Map<LocalDate, List<GameStatsEntity>> statsByDate = recentStats.stream()
-            .collect(Collectors.groupingBy(GameStatsEntity::getGameDate));
+        // Три запроса на весь период: итоги по дням, распределение по попыткам и топ каждого дня
+        Map<LocalDate, DailyTotals> totalsByDate = new HashMap<>();
+        Map<LocalDate, List<AttemptsCount>> attemptsByDate = new HashMap<>();
+        Map<LocalDate, List<GameStatsEntity>> topByDate = new HashMap<>();
+        if (!databaseEndDate.isBefore(startDate)) {
+            for (DailyTotals totals : gameStatsRepository.summarizeDays(startDate, databaseEndDate)) {
+                totalsByDate.put(totals.getGameDate(), totals);
+            }
+            for (AttemptsCount count : gameStatsRepository.countSuccessfulByAttempts(startDate, databaseEndDate)) {
+                attemptsByDate.computeIfAbsent(count.getGameDate(), day -> new ArrayList<>()).add(count);
+            }
+            for (GameStatsEntity game : gameStatsRepository.findTopSuccessfulPerDay(startDate, databaseEndDate, pageSize + 1)) {
+                topByDate.computeIfAbsent(game.getGameDate(), day -> new ArrayList<>()).add(game);
+            }
+        }
         
         List<DailyStats> result = new ArrayList<>();
         for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-            List<GameStatsEntity> dayStats = statsByDate.getOrDefault(date, new ArrayList<>());
-            result.add(calculateDailyStats(date, dayStats));
+            DailyStatsAggregate aggregate = dailyAggregates.get(date);
+            DailyTotals totals = totalsByDate.get(date);
+            if (aggregate != null && date.isAfter(databaseEndDate)) {
+                result.add(aggregate.toDailyStats(pageSize));
+            } else if (totals == null) {
+                result.add(emptyDailyStats(date));
+            } else {
+                result.add(buildDailyStats(date, totals, attemptsByDate.getOrDefault(date, new ArrayList<>()),
+                    topByDate.getOrDefault(date, new ArrayList<>()), pageSize, 0));
+            }
         }
         
         return result;
     }
     
+    /**
+     * Собирает статистику дня из итогов, распределения и строк рейтинга (строк может быть на одну больше страницы)
+     */
+    private DailyStats buildDailyStats(LocalDate date, DailyTotals totals, List<AttemptsCount> attemptsCounts,
+                                       List<GameStatsEntity> rows, int pageSize, int rankBefore) {
+        int totalPlayers = Math.toIntExact(totals.getTotalPlayers());
+        int successfulPlayers = totals.getSuccessfulPlayers() != null ? Math.toIntExact(totals.getSuccessfulPlayers()) : 0;
+        double successRate = totalPlayers > 0 ? (double) successfulPlayers / totalPlayers * 100 : 0.0;
+        
+        Map<Integer, Integer> attemptsDistribution = new HashMap<>();
+        for (AttemptsCount count : attemptsCounts) {
+            attemptsDistribution.put(count.getAttempts(), Math.toIntExact(count.getPlayers()));
+        }
+        
+        List<DailyStats.PlayerResult> topPlayers = new ArrayList<>();
+        int rank = rankBefore;
+        for (int i = 0; i < rows.size() && i < pageSize; i++) {
+            GameStatsEntity stats = rows.get(i);
+            topPlayers.add(new DailyStats.PlayerResult(
+                stats.getPlayerId(),
+                stats.getAttempts(),
+                stats.getCompletedAt(),
+                ++rank,
+                true,
+                stats.getGameTimeSeconds()
+            ));
+        }
+        String nextCursor = rows.size() > pageSize && !topPlayers.isEmpty()
+            ? LeaderboardCursor.after(topPlayers.get(topPlayers.size() - 1)).encode()
+            : null;
+        
+        return new DailyStats(
+            date,
+            totals.getTargetWord() != null ? totals.getTargetWord() : "",
+            totalPlayers,
+            successfulPlayers,
+            successRate,
+            attemptsDistribution,
+            topPlayers,
+            null,
+            nextCursor
+        );
+    }
+    
+    private static DailyStats emptyDailyStats(LocalDate date) {
+        return new DailyStats(date, "", 0, 0, 0.0, new HashMap<>(), new ArrayList<>(), null, null);
+    }
+    
+    /**
+     * Лимит страницы рейтинга в допустимых границах
+     */
+    private int normalizeLimit(int limit) {
+        if (limit <= 0) {
+            return defaultTopLimit;
+        }
+        return Math.min(limit, maxTopLimit);
+    }
+    
     /**
      * Очищает старую статистику (старше указанного количества дней)
      */
@@ -187,10 +364,26 @@ public class StatsService {
     
     /**
      * Принудительно обнуляет статистику для указанной даты
+     * Игры, уже принятые GameStatsRecorder (очередь, журнал), сначала записываются в БД и удаляются вместе
+     * с остальными; новые игры на это время не принимаются
+     * @throws IllegalStateException если принятые игры не удалось записать за RESET_FLUSH_TIMEOUT_MS
      */
     public void resetStatsForDate(LocalDate date) {
-        gameStatsRepository.deleteByGameDate(date);
-        System.out.println("🗑️ Статистика обнулена для даты: " + date);
+        submissionLock.writeLock().lock();
+        try {
+            if (!gameStatsRecorder.awaitFlushed(RESET_FLUSH_TIMEOUT_MS)) {
+                throw new IllegalStateException("Принятые игры не записаны в БД, статистика за " + date + " не обнулена");
+            }
+            gameStatsRepository.deleteByGameDate(date);
+            dailyAggregates.computeIfPresent(date, (day, aggregate) -> new DailyStatsAggregate(day));
+            dailyGameValidationService.resetDate(date);
+            System.out.println("🗑️ Статистика обнулена для даты: " + date);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Обнуление статистики за " + date + " прервано", e);
+        } finally {
+            submissionLock.writeLock().unlock();
+        }
     }
     
     /**
@@ -211,43 +404,30 @@ public class StatsService {
     }
     
     /**
-     * Вспомогательный метод для расчета статистики дня
+     * Собрать агрегат дня из сохраненных игр
      */
-    private DailyStats calculateDailyStats(LocalDate date, List<GameStatsEntity> dayStats) {
-        if (dayStats.isEmpty()) {
-            return new DailyStats(date, "", 0, 0, 0.0, new HashMap<>(), new ArrayList<>(), null);
-        }
-        
-        String targetWord = dayStats.get(0).getTargetWord();
-        int totalPlayers = dayStats.size();
-        int successfulPlayers = (int) dayStats.stream().filter(GameStatsEntity::isSuccess).count();
-        double successRate = totalPlayers > 0 ? (double) successfulPlayers / totalPlayers * 100 : 0.0;
-        
-        Map<Integer, Integer> attemptsDistribution = dayStats.stream()
-            .filter(GameStatsEntity::isSuccess)
-            .collect(Collectors.groupingBy(
-                GameStatsEntity::getAttempts,
-                Collectors.collectingAndThen(Collectors.counting(), Math::toIntExact)
-            ));
-        
-        List<DailyStats.PlayerResult> topPlayers = dayStats.stream()
-            .filter(GameStatsEntity::isSuccess)
-            .map(stats -> new DailyStats.PlayerResult(
-                stats.getPlayerId(),
-                stats.getAttempts(),
-                stats.getCompletedAt(),
-                0,
-                true,
-                stats.getGameTimeSeconds()
-            ))
-            .collect(Collectors.toList());
-        
-        for (int i = 0; i < topPlayers.size(); i++) {
-            topPlayers.get(i).setRank(i + 1);
-        }
-        
-        return new DailyStats(date, targetWord, totalPlayers, successfulPlayers, successRate, 
-                            attemptsDistribution, topPlayers, null);
+    private DailyStatsAggregate loadAggregate(LocalDate date) {
+        return DailyStatsAggregate.fromEntities(date, gameStatsRepository.findByGameDateOrderByAttemptsAscGameTimeSecondsAsc(date));
+    }
+    
+    /**
+     * Перед полуночью создаем агрегат следующего дня (пустой, если игр еще нет)
+     */
+    @Override
+    public void prepareForDate(LocalDate nextDate) {
+        dailyAggregates.computeIfAbsent(nextDate, this::loadAggregate);
+        System.out.println("🌙 Статистика на " + nextDate + " подготовлена в памяти");
+    }
+    
+    /**
+     * В полночь агрегат нового дня уже действует (если подготовка не прошла - собираем его сейчас);
+     * вчерашний оставляем для запросов итогов, более старые убираем
+     */
+    @Override
+    public void activateDate(LocalDate date) {
+        dailyAggregates.computeIfAbsent(date, this::loadAggregate);
+        LocalDate yesterday = date.minusDays(1);
+        dailyAggregates.keySet().removeIf(day -> day.isBefore(yesterday));
     }
     
     /**
@@ -0,0 +1,229 @@
+package org.example.wordle.service;
+
+import org.example.wordle.model.RussianAlphabet;
+import org.example.wordle.repository.WordIndex;
+import org.example.wordle.repository.WordsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Фоновая проверка списка загадываемых слов через Яндекс.Словарь API
+ *
+ * Все слова WordsRepository проверяются пакетно (параллельно, с ограничением частоты запросов),
+ * результат хранится как неизменяемый снимок: битовая маска по позициям списка и массив позиций
+ * валидных слов. Выбор слова для новой игры - одно чтение снимка и случайный индекс, без сети.
+ * Ответы API при этом попадают в кэш проверок (и в таблицу dictionary_verdicts), поэтому
+ * повторная проверка после перезапуска почти не обращается к API.
+ *
+ * Ограничение частоты действует только на слова, которым нужен запрос к API: ответы расширенного
+ * словаря и кэша применяются сразу. Ответ fallback-валидации (таймаут, разомкнутый выключатель, перегрузка)
+ * не считается проверкой: слово сохраняет прежний результат и перепроверяется через retry-interval-ms.
+ */
+@Service
+public class TargetWordValidationService {
+
+    private static final int DEFAULT_RATE_PER_SECOND = 5;
+    private static final int DEFAULT_MAX_PARALLEL = 4;
+
+    /**
+     * Результат проверки: valid - валидные позиции списка слов, validPositions - они же массивом,
+     * unverified - позиции, для которых API не дал ответа (их бит в valid взят из прошлой проверки)
+     */
+    private static final class ValidatedWords {
+        final BitSet valid;
+        final int[] validPositions;
+        final BitSet unverified;
+
+        ValidatedWords(BitSet valid, BitSet unverified) {
+            this.valid = valid;
+            this.validPositions = valid.stream().toArray();
+            this.unverified = unverified;
+        }
+    }
+
+    private final WordsRepository wordsRepository;
+    private final DictionaryApiService dictionaryApiService;
+    private final int ratePerSecond;
+    private final int maxParallel;
+
+    // null - проверка еще не завершалась
+    private final AtomicReference<ValidatedWords> snapshot = new AtomicReference<>();
+
+    @Autowired
+    public TargetWordValidationService(WordsRepository wordsRepository,
+                                       DictionaryApiService dictionaryApiService,
+                                       @Value("${dictionary.prevalidation.rate-per-second:5}") int ratePerSecond,
+                                       @Value("${dictionary.prevalidation.max-parallel:4}") int maxParallel) {
+        this.wordsRepository = wordsRepository;
+        this.dictionaryApiService = dictionaryApiService;
+        this.ratePerSecond = Math.max(1, ratePerSecond);
+        this.maxParallel = Math.max(1, maxParallel);
+    }
+
+    public TargetWordValidationService(WordsRepository wordsRepository, DictionaryApiService dictionaryApiService) {
+        this(wordsRepository, dictionaryApiService, DEFAULT_RATE_PER_SECOND, DEFAULT_MAX_PARALLEL);
+    }
+
+    /**
+     * Периодическая проверка всего списка (первая - вскоре после запуска)
+     * Повторные запуски подхватывают изменения словаря и ответы API после его восстановления
+     */
+    @Scheduled(initialDelayString = "${dictionary.prevalidation.initial-delay-ms:10000}",
+               fixedDelayString = "${dictionary.prevalidation.interval-ms:86400000}")
+    public void validateAll() {
+        WordIndex words = wordsRepository.getWordIndex();
+        long startTime = System.currentTimeMillis();
+        System.out.println("🔎 Проверка списка загадываемых слов: " + words.size() + " слов");
+
+        BitSet allPositions = new BitSet(words.size());
+        allPositions.set(0, words.size());
+        ValidatedWords validated = validate(words, allPositions, snapshot.get());
+        if (validated == null) {
+            return;
+        }
+
+        snapshot.set(validated);
+        System.out.println("✅ Проверка списка загадываемых слов завершена: " + validated.validPositions.length
+                + " из " + words.size() + " валидны, без ответа API: " + validated.unverified.cardinality()
+                + " (" + (System.currentTimeMillis() - startTime) + " мс)");
+    }
+
+    /**
+     * Повторная проверка слов, для которых API не дал ответа при последней проверке
+     */
+    @Scheduled(initialDelayString = "${dictionary.prevalidation.retry-interval-ms:600000}",
+               fixedDelayString = "${dictionary.prevalidation.retry-interval-ms:600000}")
+    public void revalidateUnverified() {
+        ValidatedWords current = snapshot.get();
+        if (current == null || current.unverified.isEmpty()) {
+            return;
+        }
+
+        ValidatedWords validated = validate(wordsRepository.getWordIndex(), current.unverified, current);
+        // Полная проверка могла завершиться раньше - ее результат новее
+        if (validated != null && snapshot.compareAndSet(current, validated)) {
+            System.out.println("🔁 Повторная проверка загадываемых слов: без ответа API осталось "
+                    + validated.unverified.cardinality() + " из " + current.unverified.cardinality());
+        }
+    }
+
+    /**
+     * Проверить слова на позициях positions, остальные позиции берутся из previous
+     * @return новый снимок или null, если проверка прервана
+     */
+    private ValidatedWords validate(WordIndex words, BitSet positions, ValidatedWords previous) {
+        BitSet valid = previous != null ? (BitSet) previous.valid.clone() : new BitSet(words.size());
+        BitSet unverified = new BitSet(words.size());
+        Semaphore parallelism = new Semaphore(maxParallel);
+        List<CompletableFuture<?>> checks = new ArrayList<>();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long nextStart = System.nanoTime();
+
+        try {
+            for (int i = positions.nextSetBit(0); i >= 0 && i < words.size(); i = positions.nextSetBit(i + 1)) {
+                String normalizedWord = RussianAlphabet.normalizeWord(words.wordAt(i));
+
+                // Ответ словаря или кэша не требует запроса к API - не ждем ограничения частоты
+                DictionaryApiService.WordVerdict knownVerdict = dictionaryApiService.getKnownVerdict(normalizedWord);
+                if (knownVerdict != null) {
+                    applyVerdict(valid, unverified, i, knownVerdict);
+                    continue;
+                }
+
+                parallelism.acquire();
+
+                // Не чаще ratePerSecond запросов к API в секунду
+                long delay = nextStart - System.nanoTime();
+                if (delay > 0) {
+                    TimeUnit.NANOSECONDS.sleep(delay);
+                }
+                nextStart = Math.max(nextStart, System.nanoTime()) + intervalNanos;
+
+                int position = i;
+                checks.add(dictionaryApiService.lookupAsync(normalizedWord)
+                        .whenComplete((verdict, error) -> {
+                            applyVerdict(valid, unverified, position,
+                                    verdict != null ? verdict : new DictionaryApiService.WordVerdict(false,
+                                            DictionaryApiService.VerdictSource.FALLBACK));
+                            parallelism.release();
+                        }));
+            }
+            CompletableFuture.allOf(checks.toArray(new CompletableFuture<?>[0])).exceptionally(error -> null).join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("Проверка списка загадываемых слов прервана");
+            return null;
+        }
+
+        synchronized (valid) {
+            return new ValidatedWords((BitSet) valid.clone(), (BitSet) unverified.clone());
+        }
+    }
+
+    /**
+     * Записать ответ о слове: настоящий ответ заменяет прежний результат, fallback оставляет его
+     * и помечает слово для повторной проверки
+     */
+    private static void applyVerdict(BitSet valid, BitSet unverified, int position,
+                                     DictionaryApiService.WordVerdict verdict) {
+        synchronized (valid) {
+            if (verdict.isFallback()) {
+                unverified.set(position);
+            } else {
+                valid.set(position, verdict.isValid());
+            }
+        }
+    }
+
+    /**
+     * Завершена ли хотя бы одна проверка списка
+     */
+    public boolean isReady() {
+        return snapshot.get() != null;
+    }
+
+    /**
+     * Прошло ли слово на позиции списка fiveLetterWords проверку
+     * До завершения первой проверки возвращает false - вызывающий код должен проверить isReady
+     */
+    public boolean isValidPosition(int position) {
+        ValidatedWords validated = snapshot.get();
+        return validated != null && validated.valid.get(position);
+    }
+
+    /**
+     * Случайное проверенное слово за O(1) без обращения к сети
+     * Пока проверка не завершена (или ни одно слово не прошло ее), выбирается любое слово из списка
+     */
+    public String getRandomValidWord() {
+        ValidatedWords validated = snapshot.get();
+        if (validated == null || validated.validPositions.length == 0) {
+            return wordsRepository.getRandomFiveLetterWord();
+        }
+        int position = validated.validPositions[ThreadLocalRandom.current().nextInt(validated.validPositions.length)];
+        return wordsRepository.getWordIndex().wordAt(position);
+    }
+
+    /**
+     * Краткое состояние проверки для статуса
+     */
+    public String getStatus() {
+        ValidatedWords validated = snapshot.get();
+        if (validated == null) {
+            return "проверка загадываемых слов не завершена";
+        }
+        return "проверено загадываемых слов: " + validated.validPositions.length + " валидных"
+                + (validated.unverified.isEmpty() ? "" : ", ждут ответа API: " + validated.unverified.cardinality());
+    }
+}
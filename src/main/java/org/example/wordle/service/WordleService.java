@@ -1,12 +1,17 @@
 package org.example.wordle.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.example.wordle.model.*;
 import org.example.wordle.repository.WordsRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import jakarta.servlet.http.HttpSession;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 
 /**
@@ -21,29 +26,43 @@ public class WordleService {
     private final StatsService statsService;
     private final PlayerIdService playerIdService;
     private final LocalTimeService localTimeService;
+    private final TargetWordValidationService targetWordValidationService;
 
+    // Метрики: время обработки попытки и число созданных игр по режимам
+    private final Timer guessTimer;
+    private final Counter guessGamesCreated;
+    private final Counter dailyGamesCreated;
+
+    @Autowired
     public WordleService(WordsRepository wordsRepository, 
                         DailyWordService dailyWordService,
                         DictionaryApiService dictionaryApiService,
                         StatsService statsService,
                         PlayerIdService playerIdService,
-                        LocalTimeService localTimeService) {
+                        LocalTimeService localTimeService,
+                        TargetWordValidationService targetWordValidationService,
+                        MeterRegistry meterRegistry) {
         this.wordsRepository = wordsRepository;
         this.dailyWordService = dailyWordService;
         this.dictionaryApiService = dictionaryApiService;
         this.statsService = statsService;
         this.playerIdService = playerIdService;
         this.localTimeService = localTimeService;
+        this.targetWordValidationService = targetWordValidationService;
+        this.guessTimer = meterRegistry.timer("wordle.guess.process");
+        this.guessGamesCreated = meterRegistry.counter("wordle.games.created", "mode", GameMode.GUESS.name());
+        this.dailyGamesCreated = meterRegistry.counter("wordle.games.created", "mode", GameMode.DAILY.name());
     }
 
     /**
      * Создает новую игру со случайным словом в режиме угадывания
-     * Слово проверяется через Яндекс API для валидности
+     * Слово берется из заранее проверенных через Яндекс API (без обращения к сети)
      */
     public GameState createNewGame(HttpSession session) {
         String targetWord = getValidRandomWord();
         GameState gameState = new GameState(targetWord, GameMode.GUESS);
         gameState.setPlayerId(playerIdService.getOrCreatePlayerId(session));
+        guessGamesCreated.increment();
         return gameState;
     }
 
@@ -54,6 +73,7 @@ public class WordleService {
         String targetWord = dailyWordService.getTodayWord();
         GameState gameState = new GameState(targetWord, GameMode.DAILY);
         gameState.setPlayerId(playerIdService.getOrCreatePlayerId(session));
+        dailyGamesCreated.increment();
         return gameState;
     }
 
@@ -72,17 +92,14 @@ public class WordleService {
      * Проверяет, является ли слово валидным (через API словари с fallback)
      */
     public boolean isValidWord(String word) {
-        if (word == null || word.length() != 5) {
-            return false;
-        }
-        
-        // Проверяем формат слова
-        if (!word.matches("[а-яА-ЯёЁ]{5}")) {
+        // Проверяем формат слова и нормализуем его за один проход
+        String normalizedWord = RussianAlphabet.normalizeWord(word);
+        if (normalizedWord == null) {
             return false;
         }
         
         // Используем API сервис с fallback на локальный словарь
-        return dictionaryApiService.isWordValid(word);
+        return dictionaryApiService.isNormalizedWordValid(normalizedWord);
     }
 
     /**
@@ -90,12 +107,9 @@ public class WordleService {
      * В режиме "Игра с другом" валидация через Яндекс API отключена
      */
     public boolean isValidWord(String word, GameState gameState) {
-        if (word == null || word.length() != 5) {
-            return false;
-        }
-        
-        // Проверяем формат слова
-        if (!word.matches("[а-яА-ЯёЁ]{5}")) {
+        // Проверяем формат слова и нормализуем его за один проход
+        String normalizedWord = RussianAlphabet.normalizeWord(word);
+        if (normalizedWord == null) {
             return false;
         }
         
@@ -106,44 +120,50 @@ public class WordleService {
         }
         
         // Для остальных режимов используем полную валидацию
-        return dictionaryApiService.isWordValid(word);
+        return dictionaryApiService.isNormalizedWordValid(normalizedWord);
     }
     
     /**
-     * Проверяет, является ли слово загадываемым словом (есть в списке)
+     * Асинхронный вариант isValidWord(word, gameState) для REST API:
+     * пока слово проверяется через Яндекс API, поток запроса не занят
      */
-    public boolean isTargetWord(String word) {
-        if (word == null || word.length() != 5) {
-            return false;
+    public CompletableFuture<Boolean> isValidWordAsync(String word, GameState gameState) {
+        String normalizedWord = RussianAlphabet.normalizeWord(word);
+        if (normalizedWord == null) {
+            return CompletableFuture.completedFuture(false);
         }
-        
-        String normalizedWord = normalizeWord(word);
-        return wordsRepository.isTargetWord(normalizedWord);
+
+        // В режиме "Игра с другом" не проверяем через Яндекс API
+        if (gameState.getGameMode() == GameMode.GUESS && gameState.isFriendGame()) {
+            System.out.println("🎯 Режим 'Игра с другом': валидация через Яндекс API отключена для слова: " + word);
+            return CompletableFuture.completedFuture(true);
+        }
+
+        return dictionaryApiService.isNormalizedWordValidAsync(normalizedWord);
     }
-    
+
     /**
-     * Нормализует слово, заменяя ё на е для унификации
+     * Проверяет, является ли слово загадываемым словом (есть в списке)
      */
-    private String normalizeWord(String word) {
-        return word.toUpperCase()
-                .replace('Ё', 'Е')
-                .replace('ё', 'Е');
+    public boolean isTargetWord(String word) {
+        // Индекс слов сам сравнивает без учета регистра и Ё/Е
+        return wordsRepository.isTargetWord(word);
     }
     
-    /**
-     * Проверяет, являются ли две буквы эквивалентными (Е и Ё считаются одинаковыми)
-     */
-    private boolean areEquivalentLetters(char letter1, char letter2) {
-        // Нормализуем обе буквы и сравниваем
-        char norm1 = normalizeWord(String.valueOf(letter1)).charAt(0);
-        char norm2 = normalizeWord(String.valueOf(letter2)).charAt(0);
-        return norm1 == norm2;
-    }
-
     /**
      * Обрабатывает попытку угадать слово
+     * Подсчет цветов выполняет GuessScorer без создания промежуточных объектов
      */
     public WordGuess processGuess(String guess, GameState gameState) {
+        Timer.Sample sample = Timer.start();
+        try {
+            return scoreGuess(guess, gameState);
+        } finally {
+            sample.stop(guessTimer);
+        }
+    }
+
+    private WordGuess scoreGuess(String guess, GameState gameState) {
         if (!gameState.canMakeGuess()) {
             throw new IllegalStateException("Игра уже завершена");
         }
@@ -151,50 +171,19 @@ public class WordleService {
         String upperGuess = guess.toUpperCase();
         String targetWord = gameState.getTargetWord();
 
-        WordGuess wordGuess = new WordGuess(upperGuess);
+        int feedback = GuessScorer.score(upperGuess, targetWord);
 
-        // Сначала отмечаем все буквы как отсутствующие
-        for (int i = 0; i < 5; i++) {
-            wordGuess.getLetters().get(i).setState(LetterState.ABSENT);
-        }
-
-        // Создаем копию загаданного слова для отслеживания использованных букв
-        char[] targetChars = targetWord.toCharArray();
-        boolean[] usedTargetChars = new boolean[5];
-
-        // Первый проход: отмечаем правильные позиции (зеленые)
-        for (int i = 0; i < 5; i++) {
-            char guessChar = upperGuess.charAt(i);
-            if (guessChar == targetChars[i] || areEquivalentLetters(guessChar, targetChars[i])) {
-                wordGuess.getLetters().get(i).setState(LetterState.CORRECT);
-                usedTargetChars[i] = true;
-            }
-        }
-
-        // Второй проход: отмечаем буквы, которые есть в слове, но на неправильных позициях (желтые)
-        for (int i = 0; i < 5; i++) {
-            char guessChar = upperGuess.charAt(i);
-            
-            // Пропускаем уже правильно размещенные буквы
-            if (wordGuess.getLetters().get(i).getState() == LetterState.CORRECT) {
-                continue;
-            }
-            
-            // Ищем эту букву в загаданном слове на неправильных позициях
-            for (int j = 0; j < 5; j++) {
-                if (!usedTargetChars[j] && (targetChars[j] == guessChar || areEquivalentLetters(guessChar, targetChars[j]))) {
-                    wordGuess.getLetters().get(i).setState(LetterState.PRESENT);
-                    usedTargetChars[j] = true;
-                    break; // Используем букву только один раз
-                }
-            }
+        WordGuess wordGuess = new WordGuess(upperGuess);
+        List<LetterGuess> letters = wordGuess.getLetters();
+        for (int i = 0; i < letters.size(); i++) {
+            letters.get(i).setState(GuessScorer.stateAt(feedback, i));
         }
 
         // Добавляем попытку в игру
         gameState.addGuess(wordGuess);
 
-        // Проверяем результат - используем нормализованное сравнение для Е/Ё
-        if (upperGuess.equals(targetWord) || normalizeWord(upperGuess).equals(normalizeWord(targetWord))) {
+        // Проверяем результат - все буквы на своих местах (Е/Ё считаются одинаковыми)
+        if (feedback == GuessScorer.ALL_CORRECT) {
             gameState.setStatus(GameStatus.WON);
             // Записываем статистику для режима дня
             if (gameState.getGameMode() == GameMode.DAILY) {
@@ -222,7 +211,7 @@ public class WordleService {
      * Получает статистику словаря
      */
     public String getDictionaryStats() {
-        return String.format("API словари: %s", dictionaryApiService.getApiStatus());
+        return String.format("API словари: %s, %s", dictionaryApiService.getApiStatus(), targetWordValidationService.getStatus());
     }
     
     /**
@@ -262,6 +251,13 @@ public class WordleService {
         return statsService.getDailyStats(localTimeService.getCurrentMoscowDate());
     }
     
+    /**
+     * Получает статистику дня со страницей рейтинга (limit игроков после курсора)
+     */
+    public DailyStats getDailyStats(int limit, String cursor) {
+        return statsService.getDailyStats(localTimeService.getCurrentMoscowDate(), limit, cursor);
+    }
+    
     /**
      * Получает статистику дня с результатом конкретного игрока
      */
@@ -269,11 +265,18 @@ public class WordleService {
         return statsService.getDailyStatsWithPlayerResult(localTimeService.getCurrentMoscowDate(), playerId);
     }
     
+    /**
+     * Получает результат игрока за сегодня с местом в рейтинге
+     */
+    public DailyStats.PlayerResult getPlayerDailyResult(String playerId) {
+        return statsService.getPlayerResult(localTimeService.getCurrentMoscowDate(), playerId);
+    }
+    
     /**
      * Получает статистику за последние дни
      */
-    public List<DailyStats> getRecentStats(int days) {
-        return statsService.getRecentStats(days);
+    public List<DailyStats> getRecentStats(int days, int limit) {
+        return statsService.getRecentStats(days, limit);
     }
     
     /**
@@ -312,32 +315,10 @@ public class WordleService {
     }
     
     /**
-     * Получает валидное случайное слово с проверкой через Яндекс API
-     * Если слово не проходит валидацию, выбирает следующее
+     * Получает случайное валидное слово для режима угадывания
+     * Проверку через Яндекс API заранее выполняет TargetWordValidationService
      */
     private String getValidRandomWord() {
-        List<String> fiveLetterWords = wordsRepository.getFiveLetterWords();
-        int maxAttempts = Math.min(50, fiveLetterWords.size()); // Ограничиваем количество попыток
-        
-        System.out.println("Поиск валидного слова для режима УГАДЫВАТЬ...");
-        
-        for (int attempt = 0; attempt < maxAttempts; attempt++) {
-            String candidateWord = wordsRepository.getRandomFiveLetterWord();
-            
-            System.out.println("Проверяем слово для угадывания: " + candidateWord + " (попытка " + (attempt + 1) + ")");
-            
-            // Проверяем слово через Яндекс API
-            if (dictionaryApiService.isWordValid(candidateWord)) {
-                System.out.println("Слово для угадывания выбрано: " + candidateWord + " (валидация через Яндекс API пройдена)");
-                return candidateWord;
-            } else {
-                System.out.println("Слово " + candidateWord + " не прошло валидацию через Яндекс API, пробуем следующее");
-            }
-        }
-        
-        // Если не удалось найти валидное слово через API, возвращаем случайное слово
-        String fallbackWord = wordsRepository.getRandomFiveLetterWord();
-        System.out.println("Не удалось найти валидное слово через API, используем fallback: " + fallbackWord);
-        return fallbackWord;
+        return targetWordValidationService.getRandomValidWord();
     }
 }
@@ -0,0 +1,39 @@
+-- Исходная схема, которую раньше создавал ddl-auto=update
+-- IF NOT EXISTS: на существующих базах (baseline-version=0) миграция ничего не меняет
+
+CREATE TABLE IF NOT EXISTS game_stats (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    game_date         DATE         NOT NULL,
+    attempts          INTEGER      NOT NULL,
+    completed_at      TIMESTAMP(6) NOT NULL,
+    game_time_seconds INTEGER      NOT NULL,
+    player_id         VARCHAR(255) NOT NULL,
+    success           BOOLEAN      NOT NULL,
+    target_word       VARCHAR(50)  NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS player_stats (
+    player_id        VARCHAR(255) PRIMARY KEY,
+    total_games      INTEGER       NOT NULL,
+    total_wins       INTEGER       NOT NULL,
+    win_rate         NUMERIC(5, 2) NOT NULL,
+    current_streak   INTEGER       NOT NULL,
+    max_streak       INTEGER       NOT NULL,
+    average_attempts NUMERIC(3, 2) NOT NULL,
+    last_game_date   DATE,
+    created_at       TIMESTAMP(6),
+    updated_at       TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS dictionary_verdicts (
+    word       VARCHAR(5) PRIMARY KEY,
+    valid      BOOLEAN      NOT NULL,
+    checked_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS daily_word_calendar (
+    game_date   DATE PRIMARY KEY,
+    word        VARCHAR(5)   NOT NULL,
+    game_number INTEGER      NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL
+);
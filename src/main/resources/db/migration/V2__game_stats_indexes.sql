@@ -0,0 +1,51 @@
+-- Одна игра дня на игрока: повторы (все записи, кроме самой ранней) сначала переносятся
+-- в архив game_stats_duplicates и только потом удаляются. Статистику игроков, у которых были
+-- повторы, пересобирает V5 (после того как V3 добавит накопленные суммы)
+CREATE TABLE IF NOT EXISTS game_stats_duplicates (
+    LIKE game_stats,
+    archived_at TIMESTAMP(6) NOT NULL DEFAULT now()
+);
+
+INSERT INTO game_stats_duplicates (id, game_date, attempts, completed_at, game_time_seconds, player_id, success,
+                                   target_word)
+SELECT duplicate.id, duplicate.game_date, duplicate.attempts, duplicate.completed_at, duplicate.game_time_seconds,
+       duplicate.player_id, duplicate.success, duplicate.target_word
+FROM game_stats duplicate
+WHERE EXISTS (SELECT 1
+              FROM game_stats original
+              WHERE original.game_date = duplicate.game_date
+                AND original.player_id = duplicate.player_id
+                AND original.id < duplicate.id);
+
+DELETE FROM game_stats duplicate
+USING game_stats_duplicates archived
+WHERE duplicate.id = archived.id;
+
+-- Уникальный индекс заодно обслуживает findByGameDateAndPlayerId и countByGameDate
+ALTER TABLE game_stats
+    ADD CONSTRAINT uq_game_stats_date_player UNIQUE (game_date, player_id);
+
+-- Рейтинг дня: findTopSuccessful, findSuccessfulAfter (keyset), countSuccessfulBefore,
+-- findTopSuccessfulPerDay. Порядок колонок совпадает с ORDER BY, INCLUDE делает индекс покрывающим
+CREATE INDEX IF NOT EXISTS idx_game_stats_leaderboard
+    ON game_stats (game_date, attempts, game_time_seconds, completed_at, player_id)
+    INCLUDE (id, target_word)
+    WHERE success;
+
+-- Итоги дня и распределение по попыткам: summarizeDays, countSuccessfulByAttempts (index-only scan)
+CREATE INDEX IF NOT EXISTS idx_game_stats_date_summary
+    ON game_stats (game_date, success, attempts)
+    INCLUDE (target_word);
+
+-- История игрока: findByPlayerIdOrderByCompletedAtAsc
+CREATE INDEX IF NOT EXISTS idx_game_stats_player_completed
+    ON game_stats (player_id, completed_at);
+
+-- Сводка по игрокам: countActivePlayers, getAverageWinRate, countPlayersWithWinRateAbove
+CREATE INDEX IF NOT EXISTS idx_player_stats_active_win_rate
+    ON player_stats (win_rate)
+    WHERE total_games > 0;
+
+-- getMaxStreakOverall
+CREATE INDEX IF NOT EXISTS idx_player_stats_max_streak
+    ON player_stats (max_streak);
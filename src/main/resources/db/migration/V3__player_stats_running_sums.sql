@@ -0,0 +1,34 @@
+-- Накопленные суммы в player_stats: среднее число попыток и распределение побед
+-- обновляются при каждой игре без чтения истории игрока
+
+ALTER TABLE player_stats
+    ADD COLUMN IF NOT EXISTS total_attempts BIGINT  NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS wins_in_1      INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS wins_in_2      INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS wins_in_3      INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS wins_in_4      INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS wins_in_5      INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS wins_in_6      INTEGER NOT NULL DEFAULT 0;
+
+-- Заполняем суммы для существующих игроков одним проходом по game_stats
+UPDATE player_stats p
+SET total_attempts = g.total_attempts,
+    wins_in_1      = g.wins_in_1,
+    wins_in_2      = g.wins_in_2,
+    wins_in_3      = g.wins_in_3,
+    wins_in_4      = g.wins_in_4,
+    wins_in_5      = g.wins_in_5,
+    wins_in_6      = g.wins_in_6
+FROM (
+    SELECT player_id,
+           SUM(attempts)                                   AS total_attempts,
+           COUNT(*) FILTER (WHERE success AND attempts = 1) AS wins_in_1,
+           COUNT(*) FILTER (WHERE success AND attempts = 2) AS wins_in_2,
+           COUNT(*) FILTER (WHERE success AND attempts = 3) AS wins_in_3,
+           COUNT(*) FILTER (WHERE success AND attempts = 4) AS wins_in_4,
+           COUNT(*) FILTER (WHERE success AND attempts = 5) AS wins_in_5,
+           COUNT(*) FILTER (WHERE success AND attempts = 6) AS wins_in_6
+    FROM game_stats
+    GROUP BY player_id
+) g
+WHERE p.player_id = g.player_id;
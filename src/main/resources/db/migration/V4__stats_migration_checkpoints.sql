@@ -0,0 +1,11 @@
+-- Контрольные точки пересборки player_stats (PlayerStatsMigrationService):
+-- прерванная миграция продолжается с игрока после last_player_id
+
+CREATE TABLE IF NOT EXISTS stats_migration_checkpoints (
+    name            VARCHAR(50) PRIMARY KEY,
+    last_player_id  VARCHAR(255) NOT NULL DEFAULT '',
+    games_processed BIGINT       NOT NULL DEFAULT 0,
+    players_written BIGINT       NOT NULL DEFAULT 0,
+    completed       BOOLEAN      NOT NULL DEFAULT FALSE,
+    updated_at      TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,61 @@
+-- Пересборка player_stats игроков, чьи повторные игры V2 перенесла в game_stats_duplicates:
+-- total_games, total_wins, серии и средние до этого учитывали удаленные повторы, а суммы из V3 - нет.
+-- Тот же расчет, что PlayerStatsRepository.RECALCULATE_ALL_SQL, но только для этих игроков
+-- (если повторов не было, запрос ничего не пишет)
+WITH affected AS (
+    SELECT DISTINCT player_id FROM game_stats_duplicates
+),
+numbered AS (
+    SELECT player_id, game_date, attempts, success,
+           ROW_NUMBER() OVER (PARTITION BY player_id ORDER BY completed_at, id) AS rn,
+           ROW_NUMBER() OVER (PARTITION BY player_id ORDER BY completed_at, id) -
+           ROW_NUMBER() OVER (PARTITION BY player_id, success ORDER BY completed_at, id) AS island
+    FROM game_stats
+    WHERE player_id IN (SELECT player_id FROM affected)
+),
+win_streaks AS (
+    SELECT player_id, MAX(streak) AS max_streak
+    FROM (SELECT player_id, COUNT(*) AS streak FROM numbered WHERE success GROUP BY player_id, island) s
+    GROUP BY player_id
+),
+totals AS (
+    SELECT player_id,
+           COUNT(*)                                             AS total_games,
+           COUNT(*) FILTER (WHERE success)                      AS total_wins,
+           SUM(attempts)                                        AS total_attempts,
+           COUNT(*) - COALESCE(MAX(rn) FILTER (WHERE NOT success), 0) AS current_streak,
+           COUNT(*) FILTER (WHERE success AND attempts = 1)     AS wins_in_1,
+           COUNT(*) FILTER (WHERE success AND attempts = 2)     AS wins_in_2,
+           COUNT(*) FILTER (WHERE success AND attempts = 3)     AS wins_in_3,
+           COUNT(*) FILTER (WHERE success AND attempts = 4)     AS wins_in_4,
+           COUNT(*) FILTER (WHERE success AND attempts = 5)     AS wins_in_5,
+           COUNT(*) FILTER (WHERE success AND attempts = 6)     AS wins_in_6,
+           MAX(game_date)                                       AS last_game_date
+    FROM numbered
+    GROUP BY player_id
+)
+INSERT INTO player_stats (player_id, total_games, total_wins, win_rate, current_streak, max_streak,
+                          average_attempts, total_attempts, wins_in_1, wins_in_2, wins_in_3, wins_in_4, wins_in_5,
+                          wins_in_6, last_game_date, created_at, updated_at)
+SELECT t.player_id, t.total_games, t.total_wins, ROUND(100.0 * t.total_wins / t.total_games, 2),
+       t.current_streak, COALESCE(w.max_streak, 0), ROUND(t.total_attempts::numeric / t.total_games, 2),
+       t.total_attempts, t.wins_in_1, t.wins_in_2, t.wins_in_3, t.wins_in_4, t.wins_in_5, t.wins_in_6,
+       t.last_game_date, now(), now()
+FROM totals t
+LEFT JOIN win_streaks w ON w.player_id = t.player_id
+ON CONFLICT (player_id) DO UPDATE SET
+    total_games      = EXCLUDED.total_games,
+    total_wins       = EXCLUDED.total_wins,
+    win_rate         = EXCLUDED.win_rate,
+    current_streak   = EXCLUDED.current_streak,
+    max_streak       = EXCLUDED.max_streak,
+    average_attempts = EXCLUDED.average_attempts,
+    total_attempts   = EXCLUDED.total_attempts,
+    wins_in_1        = EXCLUDED.wins_in_1,
+    wins_in_2        = EXCLUDED.wins_in_2,
+    wins_in_3        = EXCLUDED.wins_in_3,
+    wins_in_4        = EXCLUDED.wins_in_4,
+    wins_in_5        = EXCLUDED.wins_in_5,
+    wins_in_6        = EXCLUDED.wins_in_6,
+    last_game_date   = EXCLUDED.last_game_date,
+    updated_at       = EXCLUDED.updated_at;
@@ -0,0 +1,31 @@
+package org.example.wordle;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.wordle.config.AdminTokenInterceptor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты проверки токена административных операций
+ */
+public class AdminTokenInterceptorTest {
+
+    @Test
+    public void testTokenMustMatch() {
+        AdminTokenInterceptor interceptor = new AdminTokenInterceptor("секрет-42", new ObjectMapper());
+
+        assertTrue(interceptor.isAuthorized("секрет-42"));
+        assertFalse(interceptor.isAuthorized("секрет-4"));
+        assertFalse(interceptor.isAuthorized(""));
+        assertFalse(interceptor.isAuthorized(null));
+    }
+
+    @Test
+    public void testEmptyAdminTokenDisablesOperations() {
+        AdminTokenInterceptor interceptor = new AdminTokenInterceptor("", new ObjectMapper());
+
+        assertFalse(interceptor.isAuthorized(""));
+        assertFalse(interceptor.isAuthorized("любой"));
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.wordle;
+
+import org.example.wordle.service.CircuitBreaker;
+import org.example.wordle.service.CircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для автоматического выключателя
+ */
+public class CircuitBreakerTest {
+
+    /**
+     * Часы, которые двигаются только вручную
+     */
+    private static final class ManualClock extends Clock {
+        private long millis = 1_000_000;
+
+        void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+
+    private final ManualClock clock = new ManualClock();
+
+    private final CircuitBreaker breaker = new CircuitBreaker("test", clock, Duration.ofSeconds(10), 10, 50, 4,
+            Duration.ofSeconds(5), Duration.ofSeconds(30));
+
+    @Test
+    public void testOpensOnFailureRate() {
+        // Ошибок меньше минимального числа вызовов - выключатель остается замкнутым
+        failCalls(3);
+        assertEquals(State.CLOSED, breaker.getState());
+
+        failCalls(1);
+        assertEquals(State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission(), "В разомкнутом состоянии вызовы отклоняются");
+    }
+
+    @Test
+    public void testStaysClosedBelowFailureRate() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(breaker.tryAcquirePermission());
+            breaker.recordSuccess();
+        }
+        failCalls(4);
+        assertEquals(State.CLOSED, breaker.getState(), "4 ошибки из 14 вызовов ниже порога 50%");
+    }
+
+    @Test
+    public void testOldFailuresLeaveWindow() {
+        failCalls(3);
+        clock.advance(Duration.ofSeconds(11));
+        failCalls(1);
+        assertEquals(State.CLOSED, breaker.getState(), "Ошибки старше окна не учитываются");
+    }
+
+    @Test
+    public void testHalfOpenAllowsSingleTrialAndCloses() {
+        failCalls(4);
+        clock.advance(Duration.ofSeconds(5));
+
+        assertTrue(breaker.tryAcquirePermission(), "После паузы разрешается пробный вызов");
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission(), "Пробный вызов только один");
+
+        breaker.recordSuccess();
+        assertEquals(State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void testFailedTrialDoublesPause() {
+        failCalls(4);
+
+        clock.advance(Duration.ofSeconds(5));
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.recordFailure();
+        assertEquals(State.OPEN, breaker.getState());
+        assertEquals(10_000, breaker.getRemainingOpenMillis(), "Вторая пауза вдвое длиннее");
+
+        clock.advance(Duration.ofSeconds(10));
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.recordFailure();
+        assertEquals(20_000, breaker.getRemainingOpenMillis());
+
+        clock.advance(Duration.ofSeconds(20));
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.recordFailure();
+        assertEquals(30_000, breaker.getRemainingOpenMillis(), "Пауза не превышает максимальную");
+    }
+
+    @Test
+    public void testStuckTrialIsRetried() {
+        failCalls(4);
+        clock.advance(Duration.ofSeconds(5));
+        assertTrue(breaker.tryAcquirePermission());
+
+        // Пробный вызов не сообщил результат - после срока разрешается новый
+        clock.advance(Duration.ofSeconds(5));
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    private void failCalls(int count) {
+        for (int i = 0; i < count; i++) {
+            assertTrue(breaker.tryAcquirePermission());
+            breaker.recordFailure();
+        }
+    }
+}
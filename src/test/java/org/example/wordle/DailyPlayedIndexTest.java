@@ -0,0 +1,48 @@
+package org.example.wordle;
+
+import org.example.wordle.model.GameStats;
+import org.example.wordle.model.GameStatsEntity;
+import org.example.wordle.service.DailyPlayedIndex;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для индекса сыгравших за день игроков
+ */
+public class DailyPlayedIndexTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 3, 1);
+
+    @Test
+    public void testMarkPlayedRejectsRepeat() {
+        DailyPlayedIndex index = new DailyPlayedIndex(DATE);
+
+        assertTrue(index.markPlayed(game("player", 3, 21, 15, 7)));
+        assertFalse(index.markPlayed(game("player", 1, 22, 0, 0)));
+        assertTrue(index.hasPlayed("player"));
+        assertFalse(index.hasPlayed("other"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testResultKeepsFirstGame() {
+        DailyPlayedIndex index = new DailyPlayedIndex(DATE);
+        index.markPlayed(game("player", 4, 21, 15, 7));
+
+        GameStatsEntity result = index.getResult("player");
+        assertEquals(4, result.getAttempts());
+        assertEquals(95, result.getGameTimeSeconds());
+        assertEquals(LocalDateTime.of(2025, 3, 1, 21, 15, 7), result.getCompletedAt());
+        assertEquals("АВТОР", result.getTargetWord());
+        assertTrue(result.isSuccess());
+        assertNull(index.getResult("other"));
+    }
+
+    private static GameStats game(String playerId, int attempts, int hour, int minute, int second) {
+        return new GameStats(DATE, attempts, LocalDateTime.of(2025, 3, 1, hour, minute, second), playerId, "АВТОР", 95);
+    }
+}
@@ -0,0 +1,164 @@
+package org.example.wordle;
+
+import org.example.wordle.model.DailyStats;
+import org.example.wordle.model.GameStats;
+import org.example.wordle.model.GameStatsEntity;
+import org.example.wordle.service.DailyPlayedIndex;
+import org.example.wordle.service.DailyStatsAggregate;
+import org.example.wordle.service.LeaderboardCursor;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для статистики дня в памяти
+ */
+public class DailyStatsAggregateTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 10, 1);
+
+    private static final LocalDateTime NOON = DATE.atTime(12, 0);
+
+    @Test
+    public void testEmptyAggregate() {
+        DailyStats stats = new DailyStatsAggregate(DATE).toDailyStats(10);
+
+        assertEquals(DATE, stats.getGameDate());
+        assertEquals("", stats.getTargetWord());
+        assertEquals(0, stats.getTotalPlayers());
+        assertEquals(0.0, stats.getSuccessRate());
+        assertTrue(stats.getAttemptsDistribution().isEmpty());
+        assertTrue(stats.getTopPlayers().isEmpty());
+    }
+
+    @Test
+    public void testCountersAndRanking() {
+        DailyStatsAggregate aggregate = new DailyStatsAggregate(DATE);
+        DailyPlayedIndex played = new DailyPlayedIndex(DATE);
+        play(aggregate, played, "slow", 3, 200, NOON);
+        play(aggregate, played, "fast", 3, 100, NOON);
+        play(aggregate, played, "lucky", 1, 500, NOON);
+        play(aggregate, played, "loser", 0, 300, NOON);
+
+        DailyStats stats = aggregate.toDailyStats(10);
+        assertEquals("АВТОР", stats.getTargetWord());
+        assertEquals(4, stats.getTotalPlayers());
+        assertEquals(3, stats.getSuccessfulPlayers());
+        assertEquals(75.0, stats.getSuccessRate(), 0.001);
+        assertEquals(1, stats.getAttemptsDistribution().get(1).intValue());
+        assertEquals(2, stats.getAttemptsDistribution().get(3).intValue());
+
+        List<DailyStats.PlayerResult> top = stats.getTopPlayers();
+        assertEquals(List.of("lucky", "fast", "slow"), top.stream().map(DailyStats.PlayerResult::getPlayerId).toList());
+        assertEquals(2, result(aggregate, played, "fast").getRank());
+        assertFalse(result(aggregate, played, "loser").isSuccess());
+        assertFalse(result(aggregate, played, "nobody").isSuccess());
+    }
+
+    @Test
+    public void testRankOfResultFromPlayedIndex() {
+        DailyStatsAggregate aggregate = new DailyStatsAggregate(DATE);
+        DailyPlayedIndex played = new DailyPlayedIndex(DATE);
+        // Индекс хранит время завершения с точностью до секунды: место по его результату совпадает с рейтингом
+        play(aggregate, played, "later", 2, 60, NOON.plusNanos(900_000_000));
+        play(aggregate, played, "earlier", 2, 60, NOON.plusNanos(100_000_000));
+        play(aggregate, played, "next", 2, 60, NOON.plusSeconds(1));
+
+        List<DailyStats.PlayerResult> top = aggregate.toDailyStats(10).getTopPlayers();
+        assertEquals(List.of("earlier", "later", "next"), top.stream().map(DailyStats.PlayerResult::getPlayerId).toList());
+        for (DailyStats.PlayerResult expected : top) {
+            assertEquals(expected.getRank(), result(aggregate, played, expected.getPlayerId()).getRank());
+        }
+    }
+
+    @Test
+    public void testRankingRebuiltAfterNewGame() {
+        DailyStatsAggregate aggregate = new DailyStatsAggregate(DATE);
+        DailyPlayedIndex played = new DailyPlayedIndex(DATE);
+        play(aggregate, played, "first", 4, 60, NOON);
+        assertEquals(1, result(aggregate, played, "first").getRank());
+
+        play(aggregate, played, "second", 2, 60, NOON);
+        assertEquals(2, result(aggregate, played, "first").getRank());
+        assertEquals(1, result(aggregate, played, "second").getRank());
+        assertEquals(2, aggregate.toDailyStats(10).getTopPlayers().size());
+    }
+
+    @Test
+    public void testPlayerRankMatchesFullRanking() {
+        DailyStatsAggregate aggregate = new DailyStatsAggregate(DATE);
+        DailyPlayedIndex played = new DailyPlayedIndex(DATE);
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            boolean success = random.nextInt(10) < 8;
+            // Узкий диапазон секунд дает много совпадений внутри корзин, часть игр длиннее двух часов
+            int seconds = random.nextInt(10) == 0 ? 7000 + random.nextInt(1000) : random.nextInt(50);
+            play(aggregate, played, "player" + i, success ? 1 + random.nextInt(6) : 0, seconds,
+                    NOON.plusSeconds(random.nextInt(100)));
+        }
+
+        List<DailyStats.PlayerResult> ranked = aggregate.toDailyStats(Integer.MAX_VALUE).getTopPlayers();
+        for (DailyStats.PlayerResult expected : ranked) {
+            DailyStats.PlayerResult actual = result(aggregate, played, expected.getPlayerId());
+            assertTrue(actual.isSuccess());
+            assertEquals(expected.getRank(), actual.getRank(), expected.getPlayerId());
+        }
+
+        List<DailyStats.PlayerResult> top = aggregate.toDailyStats(10).getTopPlayers();
+        assertEquals(10, top.size());
+        for (int i = 0; i < top.size(); i++) {
+            assertEquals(ranked.get(i).getPlayerId(), top.get(i).getPlayerId());
+            assertEquals(i + 1, top.get(i).getRank());
+        }
+    }
+
+    @Test
+    public void testCursorPagination() {
+        DailyStatsAggregate aggregate = new DailyStatsAggregate(DATE);
+        for (int i = 0; i < 25; i++) {
+            aggregate.record("player" + i, 1 + i % 6, true, 100 - i, NOON, "АВТОР");
+        }
+        List<DailyStats.PlayerResult> ranked = aggregate.toDailyStats(Integer.MAX_VALUE).getTopPlayers();
+
+        DailyStats page = aggregate.toDailyStats(10);
+        int seen = 0;
+        while (true) {
+            for (DailyStats.PlayerResult player : page.getTopPlayers()) {
+                assertEquals(ranked.get(seen).getPlayerId(), player.getPlayerId());
+                assertEquals(++seen, player.getRank());
+            }
+            if (page.getNextCursor() == null) {
+                break;
+            }
+            page = aggregate.toDailyStats(10, LeaderboardCursor.decode(page.getNextCursor()));
+        }
+        assertEquals(25, seen);
+        assertEquals(25, page.getTotalPlayers());
+    }
+
+    @Test
+    public void testInvalidCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> LeaderboardCursor.decode("не курсор"));
+        assertThrows(IllegalArgumentException.class, () -> LeaderboardCursor.decode("MXwy"));
+    }
+
+    /**
+     * Игра дня, как ее учитывает StatsService: отметка в индексе сыгравших, затем агрегат
+     */
+    private static void play(DailyStatsAggregate aggregate, DailyPlayedIndex played, String playerId, int attempts,
+                             int gameTimeSeconds, LocalDateTime completedAt) {
+        GameStats game = new GameStats(DATE, attempts, completedAt, playerId, "АВТОР", gameTimeSeconds);
+        assertTrue(played.markPlayed(game));
+        aggregate.record(new GameStatsEntity(game));
+    }
+
+    private static DailyStats.PlayerResult result(DailyStatsAggregate aggregate, DailyPlayedIndex played,
+                                                  String playerId) {
+        return aggregate.getPlayerResult(playerId, played.getResult(playerId));
+    }
+}
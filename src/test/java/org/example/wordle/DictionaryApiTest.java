@@ -1,10 +1,23 @@
 package org.example.wordle;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.example.wordle.service.*;
 import org.example.wordle.repository.WordsRepository;
 import org.example.wordle.repository.ExtendedWordsRepository;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -14,7 +27,7 @@ public class DictionaryApiTest {
     @Test
     public void testDictionaryApiService() {
         ExtendedWordsRepository extendedRepo = new ExtendedWordsRepository();
-        DictionaryApiService apiService = new DictionaryApiService(extendedRepo);
+        DictionaryApiService apiService = dictionaryApiService(extendedRepo);
         
         // Тестируем формат слов
         assertFalse(apiService.isWordValid("12345"), "12345 не должно быть валидным");
@@ -40,12 +53,15 @@ public class DictionaryApiTest {
     public void testWordleServiceWithApi() {
         WordsRepository wordsRepository = new WordsRepository();
         ExtendedWordsRepository extendedRepo = new ExtendedWordsRepository();
-        DictionaryApiService apiService = new DictionaryApiService(extendedRepo);
+        DictionaryApiService apiService = dictionaryApiService(extendedRepo);
         PlayerIdService playerIdService = new PlayerIdService();
         LocalTimeService localTimeService = new LocalTimeService();
-        DailyWordService dailyWordService = new DailyWordService(wordsRepository, apiService, localTimeService);
-        StatsService statsService = new StatsService();
-        WordleService wordleService = new WordleService(wordsRepository, dailyWordService, apiService, statsService, playerIdService, localTimeService);
+        DailyWordService dailyWordService = new DailyWordService(wordsRepository, apiService, localTimeService,
+                new TargetWordValidationService(wordsRepository, apiService), null);
+        // Проверка слов и статистика словаря не обращаются к StatsService
+        WordleService wordleService = new WordleService(wordsRepository, dailyWordService, apiService, null,
+                playerIdService, localTimeService, new TargetWordValidationService(wordsRepository, apiService),
+                new SimpleMeterRegistry());
         
         // Тестируем формат слов
         assertFalse(wordleService.isValidWord("12345"), "12345 не должно быть валидным");
@@ -63,7 +79,7 @@ public class DictionaryApiTest {
     @Test
     public void testApiErrorCaching() {
         ExtendedWordsRepository extendedRepo = new ExtendedWordsRepository();
-        DictionaryApiService apiService = new DictionaryApiService(extendedRepo);
+        DictionaryApiService apiService = dictionaryApiService(extendedRepo);
         
         // Тестируем кэширование ошибок API
         // Сначала проверяем, что API доступен (если настроен)
@@ -88,4 +104,82 @@ public class DictionaryApiTest {
         assertNotNull(finalStatus, "Статус API не должен быть null");
         assertTrue(finalStatus.contains("Расширенный словарь"), "Статус должен содержать информацию о расширенном словаре");
     }
+
+    @Test
+    public void testExtendedDictionaryReload(@TempDir Path tempDir) throws Exception {
+        ExtendedWordsRepository extendedRepo = new ExtendedWordsRepository();
+        DictionaryApiService apiService = dictionaryApiService(extendedRepo);
+        assertFalse(extendedRepo.containsWord("ШКВАЛ"), "ШКВАЛ нет во встроенном словаре");
+
+        Path dictionary = tempDir.resolve("extended.txt");
+        Files.write(dictionary, List.of("# новые слова", "ШКВАЛ", "ЁЛОЧН"));
+        assertEquals(2, extendedRepo.reload(dictionary));
+
+        assertTrue(apiService.isWordValid("шквал"), "ШКВАЛ должно стать валидным после перезагрузки");
+        assertTrue(extendedRepo.containsWord("ЕЛОЧН"), "Ё и Е не различаются после перезагрузки");
+        assertFalse(extendedRepo.containsWord("ЕПАРХ"), "Старый снимок словаря заменен целиком");
+
+        // Пустой файл не заменяет рабочий словарь
+        Files.write(dictionary, List.of("# пусто"));
+        assertThrows(IllegalStateException.class, () -> extendedRepo.reload(dictionary));
+        assertEquals(2, extendedRepo.getWordCount());
+    }
+
+    @Test
+    public void testRejectedDictionaryFileIsReportedOnce(@TempDir Path tempDir) throws Exception {
+        ExtendedWordsRepository extendedRepo = new ExtendedWordsRepository();
+        int bundledWords = extendedRepo.getWordCount();
+        Path dictionary = tempDir.resolve("extended.txt");
+        Files.write(dictionary, List.of("# пусто"));
+        ReflectionTestUtils.setField(extendedRepo, "dictionaryPath", dictionary.toString());
+
+        // Пустой файл не ломает плановую проверку и не перечитывается, пока не изменится
+        PrintStream originalErr = System.err;
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(errors, true, StandardCharsets.UTF_8));
+        try {
+            extendedRepo.reloadIfChanged();
+            extendedRepo.reloadIfChanged();
+        } finally {
+            System.setErr(originalErr);
+        }
+        assertEquals(1, errors.toString(StandardCharsets.UTF_8).lines().filter(line -> line.contains("отвергнут")).count());
+        assertEquals(bundledWords, extendedRepo.getWordCount());
+
+        // Исправленный файл загружается при следующей проверке
+        Files.write(dictionary, List.of("ШКВАЛ"));
+        Files.setLastModifiedTime(dictionary, FileTime.fromMillis(Files.getLastModifiedTime(dictionary).toMillis() + 1000));
+        extendedRepo.reloadIfChanged();
+        assertEquals(1, extendedRepo.getWordCount());
+        assertTrue(extendedRepo.containsWord("ШКВАЛ"));
+    }
+
+    @Test
+    public void testTargetWordPrevalidation() {
+        WordsRepository wordsRepository = new WordsRepository();
+        DictionaryApiService apiService = dictionaryApiService(new ExtendedWordsRepository());
+        TargetWordValidationService validationService = new TargetWordValidationService(wordsRepository, apiService, 1000, 8);
+
+        assertFalse(validationService.isReady(), "До проверки результатов нет");
+        assertTrue(wordsRepository.isTargetWord(validationService.getRandomValidWord()), "До проверки выбирается любое слово из списка");
+
+        validationService.validateAll();
+
+        // Без ключа API все слова списка проходят fallback-валидацию
+        assertTrue(validationService.isReady());
+        for (int i = 0; i < wordsRepository.getFiveLetterWords().size(); i++) {
+            assertTrue(validationService.isValidPosition(i));
+        }
+        assertTrue(wordsRepository.isTargetWord(validationService.getRandomValidWord()));
+    }
+
+    /**
+     * Сервис без базы данных: результаты проверок кэшируются только в памяти, выключатель - с настройками по умолчанию
+     */
+    private static DictionaryApiService dictionaryApiService(ExtendedWordsRepository extendedRepo) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("Яндекс.Словарь API", Clock.systemUTC(),
+                Duration.ofSeconds(60), 10, 50, 5, Duration.ofSeconds(5), Duration.ofMinutes(5));
+        return new DictionaryApiService(extendedRepo, DictionaryVerdictCache.inMemory(), circuitBreaker, 64, 4, 256,
+                new SimpleMeterRegistry());
+    }
 }
@@ -0,0 +1,73 @@
+package org.example.wordle;
+
+import org.example.wordle.model.DictionaryVerdictEntity;
+import org.example.wordle.repository.DictionaryVerdictRepository;
+import org.example.wordle.service.DictionaryVerdictCache;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для кэша результатов проверки слов
+ */
+public class DictionaryVerdictCacheTest {
+
+    @Test
+    public void testMemoryTier() {
+        DictionaryVerdictCache cache = DictionaryVerdictCache.inMemory();
+
+        assertNull(cache.get("АВТОР"), "Непроверенное слово не должно быть в кэше");
+        cache.put("АВТОР", true);
+        cache.put("АБВГД", false);
+
+        assertEquals(Boolean.TRUE, cache.get("АВТОР"));
+        assertEquals(Boolean.FALSE, cache.get("АБВГД"), "Невалидные слова тоже кэшируются");
+
+        Map<String, Object> stats = cache.getStats();
+        assertEquals(2L, stats.get("memoryHits"));
+        assertEquals(1L, stats.get("misses"));
+    }
+
+    @Test
+    public void testPersistentTierSurvivesRestart() {
+        Map<String, DictionaryVerdictEntity> table = new HashMap<>();
+        DictionaryVerdictRepository repository = mapBackedRepository(table);
+
+        new DictionaryVerdictCache(repository, 100, 60, 90).put("ШКВАЛ", true);
+
+        // Новый экземпляр - как после перезапуска: в памяти пусто, ответ берется из таблицы
+        DictionaryVerdictCache restarted = new DictionaryVerdictCache(repository, 100, 60, 90);
+        assertEquals(Boolean.TRUE, restarted.get("ШКВАЛ"));
+        assertEquals(Boolean.TRUE, restarted.get("ШКВАЛ"));
+        assertEquals(1L, restarted.getStats().get("persistentHits"));
+        assertEquals(1L, restarted.getStats().get("memoryHits"));
+
+        // Устаревшие записи считаются промахом
+        table.put("ЩЕБЕТ", new DictionaryVerdictEntity("ЩЕБЕТ", true, LocalDateTime.now().minusDays(91)));
+        assertNull(restarted.get("ЩЕБЕТ"));
+    }
+
+    private static DictionaryVerdictRepository mapBackedRepository(Map<String, DictionaryVerdictEntity> table) {
+        return (DictionaryVerdictRepository) Proxy.newProxyInstance(
+                DictionaryVerdictRepository.class.getClassLoader(),
+                new Class<?>[]{DictionaryVerdictRepository.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findById":
+                            return Optional.ofNullable(table.get((String) args[0]));
+                        case "save":
+                            DictionaryVerdictEntity entity = (DictionaryVerdictEntity) args[0];
+                            table.put(entity.getWord(), entity);
+                            return entity;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -1,6 +1,8 @@
 package org.example.wordle;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.example.wordle.service.FriendGameService;
+import org.example.wordle.service.LocalTimeService;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
@@ -16,7 +18,7 @@ public class FriendGameTest {
 
     @Test
     public void testSaveAndGetFriendWord() {
-        FriendGameService friendGameService = new FriendGameService();
+        FriendGameService friendGameService = new FriendGameService(new LocalTimeService(), new SimpleMeterRegistry());
         
         // Сохраняем слово
         String word = "СЛОВО";
@@ -44,7 +46,7 @@ public class FriendGameTest {
     
     @Test
     public void testInvalidWord() {
-        FriendGameService friendGameService = new FriendGameService();
+        FriendGameService friendGameService = new FriendGameService(new LocalTimeService(), new SimpleMeterRegistry());
         
         // Тестируем слова неправильной длины
         assertThrows(IllegalArgumentException.class, () -> {
@@ -64,7 +66,7 @@ public class FriendGameTest {
     
     @Test
     public void testNonExistentWord() {
-        FriendGameService friendGameService = new FriendGameService();
+        FriendGameService friendGameService = new FriendGameService(new LocalTimeService(), new SimpleMeterRegistry());
         
         // Пытаемся получить несуществующее слово
         String nonExistentId = "nonexistent123";
@@ -79,7 +81,7 @@ public class FriendGameTest {
     
     @Test
     public void testMultipleWords() {
-        FriendGameService friendGameService = new FriendGameService();
+        FriendGameService friendGameService = new FriendGameService(new LocalTimeService(), new SimpleMeterRegistry());
         
         // Сохраняем несколько слов
         String word1 = "СЛОВО";
@@ -108,7 +110,7 @@ public class FriendGameTest {
     
     @Test
     public void testStats() {
-        FriendGameService friendGameService = new FriendGameService();
+        FriendGameService friendGameService = new FriendGameService(new LocalTimeService(), new SimpleMeterRegistry());
         
         // Изначально статистика должна быть пустой
         String initialStats = friendGameService.getFriendGamesStats();
@@ -0,0 +1,310 @@
+package org.example.wordle;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.wordle.model.GameStats;
+import org.example.wordle.service.GameStatsRecorder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты отложенной записи статистики: формат журнала, пакеты, повторное чтение журнала,
+ * удаление сегментов, запись при заполненной очереди, ожидание записи принятых игр
+ * и откладывание игр, которые отвергает БД
+ */
+public class GameStatsRecorderTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 3, 1);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testJournalLineRoundTrip() {
+        GameStats game = new GameStats(LocalDate.of(2025, 3, 1), 4, LocalDateTime.of(2025, 3, 1, 21, 15, 7),
+                "player-1", "АВТОР", 95);
+
+        String line = GameStatsRecorder.toJournalLine(game);
+        assertTrue(line.endsWith("\n"));
+
+        GameStats restored = GameStatsRecorder.fromJournalLine(line.substring(0, line.length() - 1));
+        assertEquals(game, restored);
+        assertTrue(restored.isSuccess());
+    }
+
+    @Test
+    public void testTornJournalLineIsSkipped() {
+        GameStats game = new GameStats(LocalDate.of(2025, 3, 1), 0, LocalDateTime.of(2025, 3, 1, 21, 15, 7),
+                "player-1", "АВТОР", 300);
+        String line = GameStatsRecorder.toJournalLine(game);
+
+        // Строка, оборванная на идентификаторе игрока, не должна дать игру с чужим идентификатором
+        assertNull(GameStatsRecorder.fromJournalLine(line.substring(0, line.length() - 4)));
+        assertNull(GameStatsRecorder.fromJournalLine(line.substring(0, line.length() - 2)));
+        assertNull(GameStatsRecorder.fromJournalLine("not a journal line"));
+    }
+
+    @Test
+    public void testGamesAreWrittenInBatches() throws Exception {
+        FakeDatabase db = new FakeDatabase();
+        GameStatsRecorder recorder = recorder(db, 100, 10, 2000, 500, new SimpleMeterRegistry());
+        recorder.start();
+
+        for (int i = 0; i < 10; i++) {
+            recorder.submit(game("player-" + i, 3));
+        }
+        db.awaitRows(10);
+        recorder.shutdown();
+
+        // Десять игр собраны в один многострочный INSERT и один пакет upsert'ов статистики игроков
+        assertEquals(1, db.insertQueries.get());
+        assertEquals(List.of(10), db.playerBatchSizes);
+        assertEquals(List.of(), journalFiles());
+    }
+
+    @Test
+    public void testJournalReplayIsIdempotent() throws Exception {
+        FakeDatabase db = new FakeDatabase();
+        db.rows.add(key("player-1"));
+
+        // Журнал прежнего формата (один файл): уже сохраненная игра, две новые и недописанная строка
+        String torn = GameStatsRecorder.toJournalLine(game("player-4", 2));
+        Files.writeString(dir.resolve("game-stats.journal"),
+                GameStatsRecorder.toJournalLine(game("player-1", 3))
+                        + GameStatsRecorder.toJournalLine(game("player-2", 0))
+                        + GameStatsRecorder.toJournalLine(game("player-3", 5))
+                        + torn.substring(0, torn.length() - 3),
+                StandardCharsets.UTF_8);
+
+        GameStatsRecorder recorder = recorder(db, 100, 500, 20, 500, new SimpleMeterRegistry());
+        recorder.start();
+        recorder.shutdown();
+
+        assertEquals(Set.of(key("player-1"), key("player-2"), key("player-3")), db.rows);
+        // Статистика обновлена только для игр, которых еще не было в БД
+        assertEquals(List.of(2), db.playerBatchSizes);
+        assertEquals(List.of(), journalFiles());
+
+        // Повторный запуск ничего не дописывает
+        GameStatsRecorder restarted = recorder(db, 100, 500, 20, 500, new SimpleMeterRegistry());
+        restarted.start();
+        restarted.shutdown();
+        assertEquals(List.of(2), db.playerBatchSizes);
+    }
+
+    @Test
+    public void testGameIsWrittenDirectlyWhenQueueIsFull() throws Exception {
+        FakeDatabase db = new FakeDatabase();
+        db.blockFirstInsert = new CountDownLatch(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GameStatsRecorder recorder = recorder(db, 1, 1, 20, 10, registry);
+        recorder.start();
+
+        // Фоновый поток занят первой игрой, вторая занимает единственное место в очереди
+        recorder.submit(game("player-1", 3));
+        assertTrue(db.firstInsertStarted.await(5, TimeUnit.SECONDS));
+        recorder.submit(game("player-2", 4));
+
+        // Третья игра не дожидается очереди и пишется вызывающим потоком
+        recorder.submit(game("player-3", 5));
+        assertTrue(db.rows.contains(key("player-3")));
+        assertEquals(1.0, registry.counter("wordle.stats.recorder.direct-writes").count());
+
+        db.blockFirstInsert.countDown();
+        db.awaitRows(3);
+        recorder.shutdown();
+
+        assertEquals(Set.of(key("player-1"), key("player-2"), key("player-3")), db.rows);
+        assertEquals(List.of(), journalFiles());
+    }
+
+    @Test
+    public void testAwaitFlushedWaitsForAcceptedGames() throws Exception {
+        FakeDatabase db = new FakeDatabase();
+        db.blockFirstInsert = new CountDownLatch(1);
+        GameStatsRecorder recorder = recorder(db, 100, 500, 20, 500, new SimpleMeterRegistry());
+        recorder.start();
+
+        recorder.submit(game("player-1", 3));
+        recorder.submit(game("player-2", 4));
+        assertTrue(db.firstInsertStarted.await(5, TimeUnit.SECONDS));
+
+        // Пакет еще не записан: ожидание заканчивается по таймауту
+        assertFalse(recorder.awaitFlushed(50));
+
+        db.blockFirstInsert.countDown();
+        assertTrue(recorder.awaitFlushed(5000));
+        assertEquals(Set.of(key("player-1"), key("player-2")), db.rows);
+        recorder.shutdown();
+    }
+
+    @Test
+    public void testRejectedGameIsSetAsideAndDoesNotBlockOthers() throws Exception {
+        FakeDatabase db = new FakeDatabase();
+        db.rejectedPlayer = "poison";
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GameStatsRecorder recorder = recorder(db, 100, 500, 20, 500, registry);
+        recorder.start();
+
+        recorder.submit(game("player-1", 3));
+        recorder.submit(game("poison", 2));
+        recorder.submit(game("player-2", 1));
+
+        // Пакет с отвергнутой игрой после нескольких попыток пишется по одной игре
+        db.awaitRows(2);
+        recorder.submit(game("player-3", 4));
+        db.awaitRows(3);
+        recorder.shutdown();
+
+        assertEquals(Set.of(key("player-1"), key("player-2"), key("player-3")), db.rows);
+        assertEquals(1.0, registry.counter("wordle.stats.recorder.rejected").count());
+        assertEquals(List.of(GameStatsRecorder.toJournalLine(game("poison", 2)).trim()),
+                Files.readAllLines(dir.resolve("game-stats.journal.rejected")).stream().map(String::trim).toList());
+        assertEquals(List.of(), journalFiles());
+    }
+
+    private GameStatsRecorder recorder(FakeDatabase db, int queueCapacity, int batchSize, long flushIntervalMs,
+                                       long offerTimeoutMs, SimpleMeterRegistry registry) {
+        return new GameStatsRecorder(db, new NoOpTransactionManager(), queueCapacity, batchSize, flushIntervalMs,
+                offerTimeoutMs, dir.resolve("game-stats.journal").toString(), registry);
+    }
+
+    /**
+     * Оставшиеся сегменты журнала (файл отложенных игр не считается)
+     */
+    private List<String> journalFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith("game-stats.journal") && !name.endsWith(".rejected"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static GameStats game(String playerId, int attempts) {
+        return new GameStats(DATE, attempts, DATE.atTime(12, 0), playerId, "АВТОР", 60);
+    }
+
+    private static String key(String playerId) {
+        return playerId + "|" + DATE;
+    }
+
+    /**
+     * Таблица game_stats с ограничением (game_date, player_id) вместо PostgreSQL:
+     * многострочный INSERT ... ON CONFLICT DO NOTHING RETURNING возвращает только новые строки
+     */
+    private static final class FakeDatabase extends JdbcTemplate {
+        final Set<String> rows = ConcurrentHashMap.newKeySet();
+        final AtomicInteger insertQueries = new AtomicInteger();
+        final List<Integer> playerBatchSizes = new ArrayList<>();
+        final CountDownLatch firstInsertStarted = new CountDownLatch(1);
+        volatile CountDownLatch blockFirstInsert;
+        volatile String rejectedPlayer;
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            if (insertQueries.incrementAndGet() == 1 && blockFirstInsert != null) {
+                firstInsertStarted.countDown();
+                try {
+                    blockFirstInsert.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            List<String[]> games = new ArrayList<>();
+            for (int i = 0; i < args.length; i += 7) {
+                String playerId = (String) args[i + 4];
+                if (playerId.equals(rejectedPlayer)) {
+                    throw new DataIntegrityViolationException("value too long for player_id");
+                }
+                games.add(new String[] {playerId, args[i].toString()});
+            }
+
+            List<T> inserted = new ArrayList<>();
+            for (String[] game : games) {
+                if (rows.add(game[0] + "|" + game[1])) {
+                    try {
+                        inserted.add(rowMapper.mapRow(resultSet(game[0], Date.valueOf(game[1])), inserted.size()));
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }
+            return inserted;
+        }
+
+        @Override
+        public void execute(String sql) {
+            // Advisory-блокировка записи игр: в тесте нет параллельного пересчета player_stats
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, BatchPreparedStatementSetter setter) {
+            synchronized (playerBatchSizes) {
+                playerBatchSizes.add(setter.getBatchSize());
+            }
+            return new int[setter.getBatchSize()];
+        }
+
+        void awaitRows(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (rows.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(rows.size() >= count, "В БД записано игр: " + rows.size());
+        }
+
+        private static ResultSet resultSet(String playerId, Date gameDate) {
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+                    (proxy, method, methodArgs) -> switch (method.getName()) {
+                        case "getString" -> playerId;
+                        case "getDate" -> gameDate;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+    }
+
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.wordle;
+
+import org.example.wordle.model.LetterState;
+import org.example.wordle.service.GuessScorer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для подсчета результата попытки
+ */
+public class GuessScorerTest {
+
+    @Test
+    public void testAllCorrect() {
+        assertEquals(GuessScorer.ALL_CORRECT, GuessScorer.score("АВТОР", "АВТОР"));
+        assertEquals(GuessScorer.ALL_CORRECT, GuessScorer.score("автор", "АВТОР"));
+    }
+
+    @Test
+    public void testYoIsEquivalentToYe() {
+        // Е и Ё считаются одинаковыми буквами
+        assertEquals(GuessScorer.ALL_CORRECT, GuessScorer.score("КОТЕЛ", "КОТЁЛ"));
+        assertEquals(GuessScorer.ALL_CORRECT, GuessScorer.score("котёл", "КОТЕЛ"));
+    }
+
+    @Test
+    public void testPresentAndAbsent() {
+        // Загадано АВТОР, попытка ОЛОВО
+        int feedback = GuessScorer.score("ОЛОВО", "АВТОР");
+
+        assertEquals(LetterState.PRESENT, GuessScorer.stateAt(feedback, 0));
+        assertEquals(LetterState.ABSENT, GuessScorer.stateAt(feedback, 1));
+        // Буква О в загаданном слове одна, второй раз она не подсвечивается
+        assertEquals(LetterState.ABSENT, GuessScorer.stateAt(feedback, 2));
+        assertEquals(LetterState.PRESENT, GuessScorer.stateAt(feedback, 3));
+        assertEquals(LetterState.ABSENT, GuessScorer.stateAt(feedback, 4));
+    }
+
+    @Test
+    public void testCorrectLetterIsNotReusedAsPresent() {
+        // Загадано БАНАН, попытка ААААА: обе А цели уже заняты зелеными, остальные А отсутствуют
+        int feedback = GuessScorer.score("ААААА", "БАНАН");
+
+        assertEquals(LetterState.ABSENT, GuessScorer.stateAt(feedback, 0));
+        assertEquals(LetterState.CORRECT, GuessScorer.stateAt(feedback, 1));
+        assertEquals(LetterState.ABSENT, GuessScorer.stateAt(feedback, 2));
+        assertEquals(LetterState.CORRECT, GuessScorer.stateAt(feedback, 3));
+        assertEquals(LetterState.ABSENT, GuessScorer.stateAt(feedback, 4));
+    }
+
+    @Test
+    public void testInvalidLength() {
+        assertThrows(IllegalArgumentException.class, () -> GuessScorer.score("АВТО", "АВТОР"));
+    }
+}
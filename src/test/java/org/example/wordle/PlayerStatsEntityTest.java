@@ -0,0 +1,45 @@
+package org.example.wordle;
+
+import org.example.wordle.model.PlayerStatsEntity;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для накопленных сумм персональной статистики
+ */
+public class PlayerStatsEntityTest {
+
+    @Test
+    public void testAddGameUpdatesTotalsAndAverages() {
+        PlayerStatsEntity stats = new PlayerStatsEntity("player");
+        stats.addGame(3, true);
+        stats.addGame(4, true);
+        stats.addGame(0, false);
+
+        assertEquals(3, stats.getTotalGames().intValue());
+        assertEquals(2, stats.getTotalWins().intValue());
+        assertEquals(7L, stats.getTotalAttempts().longValue());
+        assertEquals(new BigDecimal("66.67"), stats.getWinRate());
+        assertEquals(new BigDecimal("2.33"), stats.getAverageAttempts());
+        assertEquals(1, stats.getWinsDistribution().get(3).intValue());
+        assertEquals(1, stats.getWinsDistribution().get(4).intValue());
+        assertEquals(0, stats.getWinsDistribution().get(6).intValue());
+    }
+
+    @Test
+    public void testResetTotals() {
+        PlayerStatsEntity stats = new PlayerStatsEntity("player");
+        stats.addGame(2, true);
+        stats.setCurrentStreak(1);
+        stats.resetTotals();
+
+        assertEquals(0, stats.getTotalGames().intValue());
+        assertEquals(0L, stats.getTotalAttempts().longValue());
+        assertEquals(0, stats.getWinsIn2().intValue());
+        assertEquals(0, stats.getCurrentStreak().intValue());
+        assertEquals(BigDecimal.ZERO, stats.getAverageAttempts());
+    }
+}
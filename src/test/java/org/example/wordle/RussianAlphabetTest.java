@@ -0,0 +1,35 @@
+package org.example.wordle;
+
+import org.example.wordle.model.RussianAlphabet;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для проверки формата и нормализации слов
+ */
+public class RussianAlphabetTest {
+
+    @Test
+    public void testNormalizeWord() {
+        assertEquals("АВТОР", RussianAlphabet.normalizeWord("автор"));
+        assertEquals("КОТЕЛ", RussianAlphabet.normalizeWord("КотЁл"));
+        assertEquals("ЕЖИКИ", RussianAlphabet.normalizeWord("ёжики"));
+    }
+
+    @Test
+    public void testNormalizedWordIsReturnedAsIs() {
+        String word = "ЗЕМЛЯ";
+        assertSame(word, RussianAlphabet.normalizeWord(word));
+    }
+
+    @Test
+    public void testInvalidFormat() {
+        assertNull(RussianAlphabet.normalizeWord(null));
+        assertNull(RussianAlphabet.normalizeWord("HELLO"));
+        assertNull(RussianAlphabet.normalizeWord("12345"));
+        assertNull(RussianAlphabet.normalizeWord("ПОКЕ"));
+        assertNull(RussianAlphabet.normalizeWord("СЛОВАРЬ"));
+        assertNull(RussianAlphabet.normalizeWord("АВТ-Р"));
+    }
+}
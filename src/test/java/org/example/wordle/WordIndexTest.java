@@ -0,0 +1,69 @@
+package org.example.wordle;
+
+import org.example.wordle.repository.ExtendedWordsRepository;
+import org.example.wordle.repository.WordIndex;
+import org.example.wordle.repository.WordsRepository;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для компактного индекса слов
+ */
+public class WordIndexTest {
+
+    @Test
+    public void testContainsIgnoresCaseAndYo() {
+        WordIndex index = WordIndex.of(List.of("АКТЁР", "КОВЕР", "АВТОР"));
+
+        assertTrue(index.contains("АКТЁР"));
+        assertTrue(index.contains("актер"));
+        assertTrue(index.contains("КОВЁР"));
+        assertFalse(index.contains("ТЕСТА"));
+        assertFalse(index.contains("АВТ"));
+        assertFalse(index.contains(null));
+    }
+
+    @Test
+    public void testRandomAccessKeepsOriginalOrderAndYo() {
+        WordIndex index = WordIndex.of(List.of("ЯГОДА", "АКТЁР", "БИЛЕТ", "БИЛЕТ"));
+
+        // Повторы и порядок сохраняются: от них зависит выбор слова дня
+        assertEquals(4, index.size());
+        assertEquals(3, index.distinctCount());
+        assertEquals("ЯГОДА", index.wordAt(0));
+        assertEquals("АКТЁР", index.wordAt(1));
+        assertEquals(List.of("ЯГОДА", "АКТЁР", "БИЛЕТ", "БИЛЕТ"), index.asList());
+    }
+
+    @Test
+    public void testInvalidWordsAreSkipped() {
+        WordIndex index = WordIndex.of(List.of("АВТОР", "HELLO", "СЛОВАРЬ", "ЗЕМЛЯ"));
+
+        assertEquals(List.of("АВТОР", "ЗЕМЛЯ"), index.asList());
+    }
+
+    @Test
+    public void testBinaryRoundTrip() throws Exception {
+        WordIndex index = WordIndex.of(List.of("ЯГОДА", "АКТЁР", "КОВЕР"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        index.writeTo(out);
+        WordIndex restored = WordIndex.fromBuffer(ByteBuffer.wrap(out.toByteArray()));
+
+        assertEquals(index.asList(), restored.asList());
+        assertTrue(restored.contains("актер"));
+        assertFalse(restored.contains("АВТОР"));
+    }
+
+    @Test
+    public void testBundledDictionaries() {
+        // Словари собираются задачей compileDictionaries и доступны в classpath
+        assertTrue(new WordsRepository().isTargetWord("АКТЕР"));
+        assertTrue(new ExtendedWordsRepository().containsWord("вопёж"));
+    }
+}
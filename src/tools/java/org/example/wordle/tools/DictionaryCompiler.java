@@ -0,0 +1,78 @@
+package org.example.wordle.tools;
+
+import org.example.wordle.repository.WordIndex;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Сборка бинарных словарей из текстовых списков слов (инструмент сборки, в jar приложения не входит)
+ *
+ * Запускается Gradle-задачей compileDictionaries: каждый файл *.txt из входного каталога
+ * (одно слово в строке, строки с # - комментарии) превращается в *.dict в формате WordIndex.
+ * Строка, которая не является словом из 5 русских букв, останавливает сборку: WordIndex.of
+ * молча пропустил бы ее, и слово пропало бы из словаря без предупреждения.
+ */
+public final class DictionaryCompiler {
+
+    private DictionaryCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Использование: DictionaryCompiler <каталог .txt> <каталог .dict>");
+        }
+
+        Path inputDirectory = Paths.get(args[0]);
+        Path outputDirectory = Paths.get(args[1]);
+        Files.createDirectories(outputDirectory);
+
+        List<String> errors = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(inputDirectory, "*.txt")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString().replaceFirst("\\.txt$", "");
+                List<String> words = readWordList(file, errors);
+                WordIndex index = WordIndex.of(words);
+
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(outputDirectory.resolve(name + ".dict")))) {
+                    index.writeTo(out);
+                }
+                System.out.println("📚 Словарь " + name + ": " + index.size() + " слов (" + index.distinctCount() + " уникальных)");
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            errors.forEach(System.err::println);
+            throw new IllegalStateException("В словарях " + errors.size() + " строк не являются словами из 5 русских букв");
+        }
+    }
+
+    /**
+     * Читает текстовый список слов: пустые строки и комментарии пропускаются, порядок сохраняется
+     * Строки неверного формата попадают в errors как "файл:строка: ..."
+     */
+    static List<String> readWordList(Path file, List<String> errors) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        List<String> words = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            if (WordIndex.packKey(line) == WordIndex.INVALID_KEY) {
+                errors.add(file + ":" + (i + 1) + ": '" + line + "' - не слово из 5 русских букв");
+            } else {
+                words.add(line);
+            }
+        }
+        return words;
+    }
+}